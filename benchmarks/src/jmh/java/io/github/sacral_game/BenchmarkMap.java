@@ -0,0 +1,69 @@
+package io.github.sacral_game;
+
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapObjects;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.FloatArray;
+import io.github.sacral_game.headless.HeadlessGdx;
+
+import java.io.File;
+
+/** The real Test_Map.tmx for benchmarks, with the collision layer cut down to the requested object count. */
+final class BenchmarkMap {
+    static final long SEED = 42L;
+    static final float PLAYER_X = 1400;
+    static final float PLAYER_Y = 1400;
+
+    final TiledMap map;
+    final int tileWidth;
+    final int tileHeight;
+    final float width;
+    final float height;
+    final int collisionObjects;
+
+    /** {@code collisionObjects} below zero keeps the whole layer. */
+    BenchmarkMap(int collisionObjects) {
+        HeadlessGdx.boot();
+        String assets = System.getProperty("sacral.assets", "../assets");
+        map = new TmxMapLoader().load(new File(assets, "Test_Map.tmx").getPath());
+
+        tileWidth = map.getProperties().get("tilewidth", Integer.class);
+        tileHeight = map.getProperties().get("tileheight", Integer.class);
+        width = map.getProperties().get("width", Integer.class) * tileWidth;
+        height = map.getProperties().get("height", Integer.class) * tileHeight;
+
+        MapLayer collisionLayer = map.getLayers().get("Collision_1");
+        MapObjects objects = collisionLayer.getObjects();
+        if (collisionObjects >= 0) {
+            while (objects.getCount() > collisionObjects) {
+                objects.remove(objects.getCount() - 1);
+            }
+        }
+        this.collisionObjects = objects.getCount();
+    }
+
+    CollisionGrid createCollisionGrid() {
+        return new CollisionGrid(map.getLayers().get("Collision_1").getObjects(), tileWidth);
+    }
+
+    /** {@code count} enemy positions, seeded, whose collision rectangles are clear of walls. */
+    FloatArray freeEnemyPositions(CollisionGrid collisionGrid, int count) {
+        MathUtils.random.setSeed(SEED);
+        FloatArray positions = new FloatArray(count * 2);
+        for (int attempt = 0; positions.size < count * 2 && attempt < count * 20; attempt++) {
+            float x = MathUtils.random(width);
+            float y = MathUtils.random(height);
+            if (!collisionGrid.overlaps(x + EnemyStore.COLLISION_OFFSET_X, y,
+                EnemyStore.COLLISION_WIDTH, EnemyStore.COLLISION_HEIGHT)) {
+                positions.add(x, y);
+            }
+        }
+        return positions;
+    }
+
+    void dispose() {
+        map.dispose();
+    }
+}
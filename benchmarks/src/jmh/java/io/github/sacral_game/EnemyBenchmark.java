@@ -0,0 +1,101 @@
+package io.github.sacral_game;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Per-enemy AI and collision paths, each measured over the whole horde, as one tick runs them. */
+@State(Scope.Thread)
+public class EnemyBenchmark {
+    @Param({"100", "1000", "4000"})
+    int enemyCount;
+
+    /** Objects kept in the collision layer; -1 is the whole layer. */
+    @Param({"0", "32", "-1"})
+    int collisionObjects;
+
+    private BenchmarkMap benchmarkMap;
+    private Player player;
+    private EnemyStore enemies;
+    private CollisionGrid collisionGrid;
+    private OccupancyGrid occupancyGrid;
+    private EnemyGrid enemyGrid;
+    private final IntArray neighbours = new IntArray();
+    private float targetX;
+    private float targetY;
+    private float[] startX;
+    private float[] startY;
+
+    @Setup
+    public void setUp() {
+        benchmarkMap = new BenchmarkMap(collisionObjects);
+        collisionGrid = benchmarkMap.createCollisionGrid();
+        occupancyGrid = new OccupancyGrid(collisionGrid, benchmarkMap.tileWidth / 4f, Enemy.PATH_PROBE_SIZE);
+
+        player = new Player(BenchmarkMap.PLAYER_X, BenchmarkMap.PLAYER_Y, 200f, 32);
+        player.setImmortal(true);
+        Rectangle playerRect = player.getCollisionRect();
+        targetX = playerRect.x + playerRect.width / 2;
+        targetY = playerRect.y + playerRect.height / 2;
+
+        FloatArray positions = benchmarkMap.freeEnemyPositions(collisionGrid, enemyCount);
+        enemies = new EnemyStore(positions.size / 2);
+        for (int k = 0; k < positions.size; k += 2) {
+            Enemy.spawn(enemies, positions.get(k), positions.get(k + 1));
+        }
+        enemyGrid = new EnemyGrid(benchmarkMap.tileWidth, enemies.size());
+        enemyGrid.rebuild(enemies);
+
+        // Один тик таймеров и решений, чтобы у врагов были направления и флаг acting
+        Enemy.advanceTimers(enemies, 1f / World.DEFAULT_TICK_RATE);
+        for (int i = 0; i < enemies.size(); i++) {
+            Enemy.findBestDirection(enemies, i, targetX, targetY, occupancyGrid, enemyGrid, neighbours, 1);
+        }
+        startX = enemies.x.clone();
+        startY = enemies.y.clone();
+    }
+
+    @TearDown
+    public void tearDown() {
+        benchmarkMap.dispose();
+    }
+
+    @Benchmark
+    public void findBestDirection(Blackhole blackhole) {
+        for (int i = 0; i < enemies.size(); i++) {
+            Enemy.findBestDirection(enemies, i, targetX, targetY, occupancyGrid, enemyGrid, neighbours, 1);
+        }
+        blackhole.consume(enemies.moveX);
+    }
+
+    @Benchmark
+    public int isPathBlocked() {
+        int blocked = 0;
+        for (int i = 0; i < enemies.size(); i++) {
+            if (Enemy.isPathBlocked(enemies, i, enemies.x[i], enemies.y[i], targetX, targetY,
+                occupancyGrid, enemyGrid)) {
+                blocked++;
+            }
+        }
+        return blocked;
+    }
+
+    /** The movement collision check of {@link Enemy#commit}; positions are reset first so every call sees one tick. */
+    @Benchmark
+    public void commitCollisions(Blackhole blackhole) {
+        int n = enemies.size();
+        System.arraycopy(startX, 0, enemies.x, 0, n);
+        System.arraycopy(startY, 0, enemies.y, 0, n);
+        for (int i = 0; i < n; i++) {
+            Enemy.commit(enemies, i, 1f / World.DEFAULT_TICK_RATE, player, collisionGrid, enemyGrid);
+        }
+        blackhole.consume(enemies.state);
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.sacral_game;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/** {@link Player#checkCollisions} at positions spread over the map, as the movement step calls it. */
+@State(Scope.Thread)
+public class PlayerBenchmark {
+    private static final int PROBES = 256;
+
+    /** Objects kept in the collision layer; -1 is the whole layer. */
+    @Param({"0", "32", "-1"})
+    int collisionObjects;
+
+    private BenchmarkMap benchmarkMap;
+    private CollisionGrid collisionGrid;
+    private Player player;
+    private final float[] probeX = new float[PROBES];
+    private final float[] probeY = new float[PROBES];
+
+    @Setup
+    public void setUp() {
+        benchmarkMap = new BenchmarkMap(collisionObjects);
+        collisionGrid = benchmarkMap.createCollisionGrid();
+        player = new Player(BenchmarkMap.PLAYER_X, BenchmarkMap.PLAYER_Y, 200f, 32);
+
+        MathUtils.random.setSeed(BenchmarkMap.SEED);
+        for (int k = 0; k < PROBES; k++) {
+            probeX[k] = MathUtils.random(benchmarkMap.width);
+            probeY[k] = MathUtils.random(benchmarkMap.height);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        benchmarkMap.dispose();
+    }
+
+    @Benchmark
+    public int checkCollisions() {
+        Vector2 position = player.getPosition();
+        int collisions = 0;
+        for (int k = 0; k < PROBES; k++) {
+            position.set(probeX[k], probeY[k]);
+            player.updateCollisionRect();
+            if (player.checkCollisions(collisionGrid)) {
+                collisions++;
+            }
+        }
+        return collisions;
+    }
+}
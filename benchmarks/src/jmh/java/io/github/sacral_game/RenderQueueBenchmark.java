@@ -0,0 +1,121 @@
+package io.github.sacral_game;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapObjects;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * The draw list of {@code GameScreen.draw}: building and sorting the sprite queue, as in
+ * {@code prepareDrawableObjects}, and merging it with the {@link PropLayer} (band culling, sprite-prop merge and
+ * cached band selection). Sprites are queued the way {@link Enemy#queueDraw} does, with empty regions, since the atlas
+ * needs a GL context; the merge draws into a batch that only counts, and cached bands go to the no-op GL.
+ */
+@State(Scope.Thread)
+public class RenderQueueBenchmark {
+    private static final float CULL_MARGIN = 32f;
+    private static final float ALPHA = 0.5f;
+
+    @Param({"100", "1000", "4000"})
+    int enemyCount;
+
+    /** Collision objects kept; the collision layer is also one of the prop layers. */
+    @Param({"0", "32", "-1"})
+    int collisionObjects;
+
+    /** Camera zoom: 1 is the game's 640x360 view, 8 takes in the whole map and culls nothing. */
+    @Param({"1", "8"})
+    float zoom;
+
+    private BenchmarkMap benchmarkMap;
+    private PropLayer propLayer;
+    private CountingBatch batch;
+    private final RenderQueue renderQueue = new RenderQueue();
+    private final OrthographicCamera camera = new OrthographicCamera(640, 360);
+    private final TextureRegion[] frames = new TextureRegion[4];
+    private EnemyStore enemies;
+
+    @Setup
+    public void setUp() {
+        benchmarkMap = new BenchmarkMap(collisionObjects);
+        FloatArray positions = benchmarkMap.freeEnemyPositions(benchmarkMap.createCollisionGrid(), enemyCount);
+        enemies = new EnemyStore(positions.size / 2);
+        for (int k = 0; k < positions.size; k += 2) {
+            Enemy.spawn(enemies, positions.get(k), positions.get(k + 1));
+        }
+        for (int k = 0; k < frames.length; k++) {
+            frames[k] = new TextureRegion();
+        }
+
+        Array<MapObjects> layers = new Array<>();
+        for (String layerName : GameScreen.PROP_LAYERS) {
+            MapLayer layer = benchmarkMap.map.getLayers().get(layerName);
+            if (layer != null) {
+                layers.add(layer.getObjects());
+            }
+        }
+        propLayer = new PropLayer(layers);
+        batch = new CountingBatch();
+
+        camera.zoom = zoom;
+        camera.position.set(BenchmarkMap.PLAYER_X, BenchmarkMap.PLAYER_Y + 25, 0);
+        camera.update();
+        batch.setProjectionMatrix(camera.combined);
+        // Очередь для замера слияния собирается один раз
+        prepareDrawableObjects();
+    }
+
+    @TearDown
+    public void tearDown() {
+        batch.dispose();
+        propLayer.dispose();
+        benchmarkMap.dispose();
+    }
+
+    @Benchmark
+    public int prepareDrawableObjects() {
+        renderQueue.clear();
+        renderQueue.setView(camera, CULL_MARGIN);
+
+        renderQueue.add(frames[0], BenchmarkMap.PLAYER_X - 37, BenchmarkMap.PLAYER_Y - 28, 102.4f, 102.4f, false,
+            BenchmarkMap.PLAYER_Y);
+        for (int i = 0, n = enemies.size(); i < n; i++) {
+            float x = MathUtils.lerp(enemies.previousX[i], enemies.x[i], ALPHA);
+            float y = MathUtils.lerp(enemies.previousY[i], enemies.y[i], ALPHA);
+            renderQueue.add(frames[i & 3], x, y, Enemy.SPRITE_WIDTH, Enemy.SPRITE_HEIGHT, false, y);
+        }
+
+        renderQueue.sort();
+        return renderQueue.size();
+    }
+
+    /** The sorted queue merged with the props; returns sprites drawn through the batch plus visible props. */
+    @Benchmark
+    public int mergeWithProps() {
+        batch.draws = 0;
+        batch.begin();
+        renderQueue.draw(batch, propLayer);
+        batch.end();
+        return batch.draws + renderQueue.getVisibleProps();
+    }
+
+    /** Counts region draws instead of filling vertices; begin, end and the cache switches still run. */
+    private static final class CountingBatch extends SpriteBatch {
+        int draws;
+
+        @Override
+        public void draw(TextureRegion region, float x, float y, float width, float height) {
+            draws++;
+        }
+    }
+}
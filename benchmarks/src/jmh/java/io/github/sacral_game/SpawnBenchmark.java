@@ -0,0 +1,50 @@
+package io.github.sacral_game;
+
+import com.badlogic.gdx.utils.FloatArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/** {@link World#spawnEnemy}: the ring search for a free spot around the camera and the enemy grid rebuild. */
+@State(Scope.Thread)
+public class SpawnBenchmark {
+    @Param({"100", "1000", "4000"})
+    int enemyCount;
+
+    /** Objects kept in the collision layer; -1 is the whole layer. */
+    @Param({"0", "32", "-1"})
+    int collisionObjects;
+
+    private BenchmarkMap benchmarkMap;
+    private World world;
+
+    @Setup
+    public void setUp() {
+        benchmarkMap = new BenchmarkMap(collisionObjects);
+        world = new World(benchmarkMap.map, 640, 360, enemyCount + 1);
+        FloatArray positions = benchmarkMap.freeEnemyPositions(world.getCollisionGrid(), enemyCount);
+        for (int k = 0; k < positions.size; k += 2) {
+            world.spawnEnemyAt(positions.get(k), positions.get(k + 1));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        world.dispose();
+        benchmarkMap.dispose();
+    }
+
+    /** Spawns one enemy and drops it again, so the horde keeps its size between calls. */
+    @Benchmark
+    public boolean spawnEnemy() {
+        boolean spawned = world.spawnEnemy();
+        if (spawned) {
+            EnemyStore enemies = world.getEnemies();
+            enemies.remove(enemies.size() - 1);
+        }
+        return spawned;
+    }
+}
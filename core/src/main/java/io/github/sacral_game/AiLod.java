@@ -0,0 +1,90 @@
+package io.github.sacral_game;
+
+import com.badlogic.gdx.math.Vector2;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Level of detail of enemy AI, assigned each tick from the distance to the camera view and the player. Near enemies,
+ * on screen or next to the player, steer with the full ray search at the full rate; mid-range ones, within about a
+ * screen of the view, search fewer rays less often; far ones follow the flow field or head straight for the player a
+ * few times a second, with their animation frozen. Counts and decision time per tier are kept for the last tick.
+ */
+public class AiLod {
+    public static final byte NEAR = 0;
+    public static final byte MID = 1;
+    public static final byte FAR = 2;
+    public static final int TIER_COUNT = 3;
+
+    static final String[] TIER_NAMES = {"near", "mid", "far"};
+
+    // Ближний уровень: вид с запасом на спрайт или рядом с игроком
+    private static final float NEAR_MARGIN = 64f;
+    private static final float NEAR_PLAYER_DISTANCE = 250f;
+    private static final float MID_MARGIN = 480f;
+
+    /** Seconds between ray searches of a mid-range enemy. */
+    static final float MID_DECISION_INTERVAL = 0.5f;
+    /** A mid-range enemy tests every fourth of the {@code Enemy} rays. */
+    static final int MID_RAY_STEP = 4;
+    /** Seconds between direction updates of a far enemy. */
+    static final float FAR_DECISION_INTERVAL = 0.5f;
+
+    private final int[] counts = new int[TIER_COUNT];
+    private final AtomicLongArray decisionNanos = new AtomicLongArray(TIER_COUNT);
+    private volatile boolean timingEnabled;
+
+    /** Assigns a tier to every enemy and resets the per-tick metrics. */
+    public void assign(EnemyStore store, Vector2 player, float cameraX, float cameraY, float viewWidth,
+                       float viewHeight) {
+        for (int t = 0; t < TIER_COUNT; t++) {
+            counts[t] = 0;
+            decisionNanos.set(t, 0);
+        }
+
+        float halfWidth = viewWidth / 2;
+        float halfHeight = viewHeight / 2;
+        float nearDistance2 = NEAR_PLAYER_DISTANCE * NEAR_PLAYER_DISTANCE;
+        for (int i = 0, n = store.size(); i < n; i++) {
+            float dx = Math.abs(store.x[i] - cameraX);
+            float dy = Math.abs(store.y[i] - cameraY);
+            float px = store.x[i] - player.x;
+            float py = store.y[i] - player.y;
+
+            byte tier;
+            if ((dx <= halfWidth + NEAR_MARGIN && dy <= halfHeight + NEAR_MARGIN) || px * px + py * py <= nearDistance2) {
+                tier = NEAR;
+            } else if (dx <= halfWidth + MID_MARGIN && dy <= halfHeight + MID_MARGIN) {
+                tier = MID;
+            } else {
+                tier = FAR;
+            }
+            store.lod[i] = tier;
+            counts[tier]++;
+        }
+    }
+
+    /** Whether {@link EnemyDecisionPhase} times each decision; off by default, as it costs two clock reads per enemy. */
+    public boolean isTimingEnabled() {
+        return timingEnabled;
+    }
+
+    public void setTimingEnabled(boolean timingEnabled) {
+        this.timingEnabled = timingEnabled;
+    }
+
+    void addDecisionNanos(long near, long mid, long far) {
+        if (near != 0) decisionNanos.addAndGet(NEAR, near);
+        if (mid != 0) decisionNanos.addAndGet(MID, mid);
+        if (far != 0) decisionNanos.addAndGet(FAR, far);
+    }
+
+    public int getCount(int tier) {
+        return counts[tier];
+    }
+
+    /** Decision time of the tier in the last tick, summed over all worker threads; 0 while timing is off. */
+    public long getDecisionNanos(int tier) {
+        return decisionNanos.get(tier);
+    }
+}
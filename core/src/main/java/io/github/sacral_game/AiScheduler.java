@@ -0,0 +1,118 @@
+package io.github.sacral_game;
+
+import com.badlogic.gdx.math.Vector2;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out ray-search slots to enemies whose re-plan is due, under a time budget per tick. Enemies of one wave come
+ * due on the same tick; instead of all searching at once, they are served round-robin from a cursor that carries over
+ * between ticks, so the AI cost stays flat and the rest wait a few ticks. Enemies close to the player or whose last
+ * search found the straight path blocked are served first.
+ * <p>
+ * The budget is CPU time of the searches summed over the worker threads. The number of slots comes from a running
+ * average of the measured cost of one search.
+ */
+public class AiScheduler {
+    /** Default search budget per tick: 1 ms of CPU time. */
+    public static final long DEFAULT_BUDGET_NANOS = 1_000_000;
+
+    // Хотя бы несколько поисков за тик, даже если оценка стоимости завышена
+    private static final int MIN_SLOTS = 4;
+    private static final long INITIAL_SEARCH_NANOS = 20_000;
+    private static final float PRIORITY_DISTANCE = 200f;
+
+    private long budgetNanos = DEFAULT_BUDGET_NANOS;
+    private int cursor;
+    private long searchEstimateNanos = INITIAL_SEARCH_NANOS;
+    private final AtomicLong searchNanos = new AtomicLong();
+
+    private int lastDue;
+    private int lastGranted;
+    private int lastPriority;
+    private long lastSearchNanos;
+
+    /** A budget of 0 grants every due search, e.g. for reproducible headless runs. */
+    public void setBudgetNanos(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+    }
+
+    public long getBudgetNanos() {
+        return budgetNanos;
+    }
+
+    /** Marks in {@link EnemyStore#replan} the enemies that run a ray search in this tick. */
+    public void schedule(EnemyStore store, Vector2 player, FlowField flowField) {
+        int n = store.size();
+        int slots = budgetNanos <= 0 ? n : (int) Math.max(MIN_SLOTS, budgetNanos / searchEstimateNanos);
+        if (cursor >= n) {
+            cursor = 0;
+        }
+
+        lastDue = 0;
+        lastGranted = 0;
+        lastPriority = 0;
+        float priorityDistance2 = PRIORITY_DISTANCE * PRIORITY_DISTANCE;
+        for (int k = 0; k < n; k++) {
+            int i = (cursor + k) % n;
+            store.replan[i] = false;
+            if (!Enemy.isSearchDue(store, i, flowField)) {
+                continue;
+            }
+            lastDue++;
+            float dx = store.x[i] - player.x;
+            float dy = store.y[i] - player.y;
+            if (lastGranted < slots && (store.blocked[i] || dx * dx + dy * dy <= priorityDistance2)) {
+                store.replan[i] = true;
+                lastGranted++;
+                lastPriority++;
+            }
+        }
+
+        // Остальные слоты по кругу; курсор встаёт за последним обслуженным
+        for (int k = 0; k < n && lastGranted < slots; k++) {
+            int i = (cursor + k) % n;
+            if (!store.replan[i] && Enemy.isSearchDue(store, i, flowField)) {
+                store.replan[i] = true;
+                lastGranted++;
+                cursor = i + 1;
+            }
+        }
+    }
+
+    void addSearchNanos(long nanos) {
+        searchNanos.addAndGet(nanos);
+    }
+
+    /** Folds the measured search time of the tick into the cost estimate. */
+    public void endTick() {
+        lastSearchNanos = searchNanos.getAndSet(0);
+        if (lastGranted > 0) {
+            long perSearch = Math.max(1, lastSearchNanos / lastGranted);
+            searchEstimateNanos = Math.max(1, searchEstimateNanos + (perSearch - searchEstimateNanos) / 8);
+        }
+    }
+
+    /** Enemies that were due for a search in the last tick. */
+    public int getLastDue() {
+        return lastDue;
+    }
+
+    public int getLastGranted() {
+        return lastGranted;
+    }
+
+    /** Granted slots that went to enemies near the player or blocked. */
+    public int getLastPriority() {
+        return lastPriority;
+    }
+
+    /** Search CPU time of the last tick, summed over the worker threads. */
+    public long getLastSearchNanos() {
+        return lastSearchNanos;
+    }
+
+    public long getSearchEstimateNanos() {
+        return searchEstimateNanos;
+    }
+}
@@ -0,0 +1,156 @@
+package io.github.sacral_game;
+
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Hit area of an attack: a rectangle, a circle or a cone. The player builds it from one definition for both damage
+ * and the debug overlay. Hits are resolved through {@link EnemyGrid}, so only the enemies near the shape's bounds are
+ * tested. The shape is mutable and reused, and resolving a hit allocates nothing.
+ */
+public class AttackShape {
+    public enum Type {
+        RECT,
+        RADIUS,
+        CONE
+    }
+
+    private Type type = Type.RECT;
+    // Прямоугольник: левый нижний угол и размеры; круг и конус: центр и радиус
+    private float x;
+    private float y;
+    private float width;
+    private float height;
+    private float radius;
+    private float directionX;
+    private float directionY;
+    private float halfAngle;
+    private float cosHalfAngle;
+
+    public AttackShape setRect(float x, float y, float width, float height) {
+        type = Type.RECT;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+        return this;
+    }
+
+    public AttackShape setRadius(float centerX, float centerY, float radius) {
+        type = Type.RADIUS;
+        x = centerX;
+        y = centerY;
+        this.radius = radius;
+        return this;
+    }
+
+    /** Sector of the circle around the unit direction, {@code halfAngle} degrees to each side. */
+    public AttackShape setCone(float centerX, float centerY, float radius, float directionX, float directionY,
+                               float halfAngle) {
+        type = Type.CONE;
+        x = centerX;
+        y = centerY;
+        this.radius = radius;
+        this.directionX = directionX;
+        this.directionY = directionY;
+        this.halfAngle = halfAngle;
+        cosHalfAngle = (float) Math.cos(Math.toRadians(halfAngle));
+        return this;
+    }
+
+    /**
+     * Damages every living enemy whose collision rectangle the shape touches and returns how many were hit.
+     * {@code scratch} is caller-owned and cleared first.
+     */
+    public int hit(EnemyStore enemies, EnemyGrid enemyGrid, int damage, IntArray scratch) {
+        // Позиция врага - левый нижний угол спрайта, прямоугольник коллизии смещён от неё вправо
+        scratch.clear();
+        enemyGrid.query(getMinX() - EnemyStore.COLLISION_OFFSET_X - EnemyStore.COLLISION_WIDTH,
+            getMinY() - EnemyStore.COLLISION_HEIGHT, getMaxX() - EnemyStore.COLLISION_OFFSET_X, getMaxY(), scratch);
+
+        int hits = 0;
+        for (int k = 0; k < scratch.size; k++) {
+            int i = scratch.get(k);
+            if (!enemies.isDead(i) && touches(enemies, i)) {
+                Enemy.takeDamage(enemies, i, damage);
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    /** Whether the shape touches the collision rectangle of slot {@code i}. */
+    public boolean touches(EnemyStore enemies, int i) {
+        if (type == Type.RECT) {
+            return enemies.overlapsCollisionRect(i, x, y, width, height);
+        }
+
+        float left = enemies.getCollisionX(i);
+        float bottom = enemies.getCollisionY(i);
+        float closestX = Math.max(left, Math.min(x, left + EnemyStore.COLLISION_WIDTH));
+        float closestY = Math.max(bottom, Math.min(y, bottom + EnemyStore.COLLISION_HEIGHT));
+        float dx = closestX - x;
+        float dy = closestY - y;
+        if (dx * dx + dy * dy > radius * radius) {
+            return false;
+        }
+        if (type == Type.RADIUS || (dx == 0 && dy == 0)) {
+            return true;
+        }
+
+        // Для конуса угол берётся по центру прямоугольника врага
+        float toCenterX = left + EnemyStore.COLLISION_WIDTH / 2 - x;
+        float toCenterY = bottom + EnemyStore.COLLISION_HEIGHT / 2 - y;
+        float length = (float) Math.sqrt(toCenterX * toCenterX + toCenterY * toCenterY);
+        return toCenterX * directionX + toCenterY * directionY >= cosHalfAngle * length;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public float getMinX() {
+        return type == Type.RECT ? x : x - radius;
+    }
+
+    public float getMinY() {
+        return type == Type.RECT ? y : y - radius;
+    }
+
+    public float getMaxX() {
+        return type == Type.RECT ? x + width : x + radius;
+    }
+
+    public float getMaxY() {
+        return type == Type.RECT ? y + height : y + radius;
+    }
+
+    /** Left edge of a rectangle, centre of a circle or cone. */
+    public float getX() {
+        return x;
+    }
+
+    public float getY() {
+        return y;
+    }
+
+    public float getWidth() {
+        return width;
+    }
+
+    public float getHeight() {
+        return height;
+    }
+
+    public float getRadius() {
+        return radius;
+    }
+
+    /** Direction of a cone in degrees, counter-clockwise from the x axis. */
+    public float getDirectionAngle() {
+        return (float) Math.toDegrees(Math.atan2(directionY, directionX));
+    }
+
+    public float getHalfAngle() {
+        return halfAngle;
+    }
+}
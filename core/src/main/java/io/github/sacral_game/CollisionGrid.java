@@ -0,0 +1,166 @@
+package io.github.sacral_game;
+
+import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.MapObjects;
+import com.badlogic.gdx.maps.objects.RectangleMapObject;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.objects.TiledMapTileMapObject;
+import com.badlogic.gdx.math.Rectangle;
+
+/**
+ * Uniform grid over the world-space collision rectangles of a static object layer. Built once when the map is
+ * loaded; queries only test the rectangles registered in the cells they touch.
+ */
+public class CollisionGrid {
+    private final float cellSize;
+    private final float originX;
+    private final float originY;
+    private final int columns;
+    private final int rows;
+
+    // x, y, width, height подряд для каждого прямоугольника
+    private final float[] rects;
+    private final int count;
+
+    // Индексы прямоугольников по ячейкам: ячейка i занимает cellItems[cellStart[i] .. cellStart[i + 1])
+    private final int[] cellStart;
+    private final int[] cellItems;
+
+    public CollisionGrid(MapObjects objects, float cellSize) {
+        this.cellSize = cellSize;
+
+        float[] collected = new float[Math.max(objects.getCount(), 1) * 4];
+        int collectedCount = 0;
+        Rectangle rect = new Rectangle();
+        for (MapObject object : objects) {
+            if (!resolveRectangle(object, rect)) {
+                continue;
+            }
+            collected[collectedCount * 4] = rect.x;
+            collected[collectedCount * 4 + 1] = rect.y;
+            collected[collectedCount * 4 + 2] = rect.width;
+            collected[collectedCount * 4 + 3] = rect.height;
+            collectedCount++;
+        }
+        rects = collected;
+        count = collectedCount;
+
+        float minX = 0, minY = 0, maxX = cellSize, maxY = cellSize;
+        if (count > 0) {
+            minX = minY = Float.POSITIVE_INFINITY;
+            maxX = maxY = Float.NEGATIVE_INFINITY;
+            for (int i = 0; i < count; i++) {
+                minX = Math.min(minX, rects[i * 4]);
+                minY = Math.min(minY, rects[i * 4 + 1]);
+                maxX = Math.max(maxX, rects[i * 4] + rects[i * 4 + 2]);
+                maxY = Math.max(maxY, rects[i * 4 + 1] + rects[i * 4 + 3]);
+            }
+        }
+        originX = (float) Math.floor(minX / cellSize) * cellSize;
+        originY = (float) Math.floor(minY / cellSize) * cellSize;
+        columns = Math.max(1, (int) Math.ceil((maxX - originX) / cellSize) + 1);
+        rows = Math.max(1, (int) Math.ceil((maxY - originY) / cellSize) + 1);
+
+        cellStart = new int[columns * rows + 1];
+        for (int i = 0; i < count; i++) {
+            int x0 = cellX(rects[i * 4]), x1 = cellX(rects[i * 4] + rects[i * 4 + 2]);
+            int y0 = cellY(rects[i * 4 + 1]), y1 = cellY(rects[i * 4 + 1] + rects[i * 4 + 3]);
+            for (int cy = y0; cy <= y1; cy++) {
+                for (int cx = x0; cx <= x1; cx++) {
+                    cellStart[cy * columns + cx + 1]++;
+                }
+            }
+        }
+        for (int i = 0; i < columns * rows; i++) {
+            cellStart[i + 1] += cellStart[i];
+        }
+
+        cellItems = new int[cellStart[columns * rows]];
+        int[] fill = new int[columns * rows];
+        for (int i = 0; i < count; i++) {
+            int x0 = cellX(rects[i * 4]), x1 = cellX(rects[i * 4] + rects[i * 4 + 2]);
+            int y0 = cellY(rects[i * 4 + 1]), y1 = cellY(rects[i * 4 + 1] + rects[i * 4 + 3]);
+            for (int cy = y0; cy <= y1; cy++) {
+                for (int cx = x0; cx <= x1; cx++) {
+                    int cell = cy * columns + cx;
+                    cellItems[cellStart[cell] + fill[cell]++] = i;
+                }
+            }
+        }
+    }
+
+    /**
+     * Collision shape of a layer object in world space: the first rectangle of the tile's collision group, or the
+     * whole tile region when the tile has none. Plain rectangle objects are used as they are.
+     */
+    private static boolean resolveRectangle(MapObject object, Rectangle out) {
+        if (object instanceof TiledMapTileMapObject tileObject) {
+            TiledMapTile tile = tileObject.getTile();
+            if (tile == null) {
+                return false;
+            }
+            for (MapObject shape : tile.getObjects()) {
+                if (shape instanceof RectangleMapObject) {
+                    Rectangle rect = ((RectangleMapObject) shape).getRectangle();
+                    out.set(tileObject.getX() + rect.x, tileObject.getY() + rect.y, rect.width, rect.height);
+                    return true;
+                }
+            }
+            if (tile.getTextureRegion() == null) {
+                return false;
+            }
+            out.set(tileObject.getX(), tileObject.getY(),
+                tile.getTextureRegion().getRegionWidth(), tile.getTextureRegion().getRegionHeight());
+            return true;
+        }
+        if (object instanceof RectangleMapObject) {
+            out.set(((RectangleMapObject) object).getRectangle());
+            return true;
+        }
+        return false;
+    }
+
+    private int cellX(float x) {
+        return Math.min(columns - 1, Math.max(0, (int) Math.floor((x - originX) / cellSize)));
+    }
+
+    private int cellY(float y) {
+        return Math.min(rows - 1, Math.max(0, (int) Math.floor((y - originY) / cellSize)));
+    }
+
+    public boolean overlaps(Rectangle rect) {
+        return overlaps(rect.x, rect.y, rect.width, rect.height);
+    }
+
+    /** Same test as {@link Rectangle#overlaps(Rectangle)} against every collision rectangle near the area. */
+    public boolean overlaps(float x, float y, float width, float height) {
+        if (count == 0 || x > originX + columns * cellSize || y > originY + rows * cellSize
+            || x + width < originX || y + height < originY) {
+            return false;
+        }
+
+        int x0 = cellX(x), x1 = cellX(x + width);
+        int y0 = cellY(y), y1 = cellY(y + height);
+        for (int cy = y0; cy <= y1; cy++) {
+            for (int cx = x0; cx <= x1; cx++) {
+                int cell = cy * columns + cx;
+                for (int i = cellStart[cell], end = cellStart[cell + 1]; i < end; i++) {
+                    int r = cellItems[i] * 4;
+                    if (x < rects[r] + rects[r + 2] && x + width > rects[r]
+                        && y < rects[r + 1] + rects[r + 3] && y + height > rects[r + 1]) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public Rectangle getRectangle(int index, Rectangle out) {
+        return out.set(rects[index * 4], rects[index * 4 + 1], rects[index * 4 + 2], rects[index * 4 + 3]);
+    }
+}
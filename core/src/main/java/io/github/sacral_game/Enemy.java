@@ -1,466 +1,351 @@
 package io.github.sacral_game;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.Animation;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.maps.MapObject;
-import com.badlogic.gdx.maps.MapObjects;
-import com.badlogic.gdx.maps.objects.RectangleMapObject;
-import com.badlogic.gdx.maps.tiled.TiledMapTile;
-import com.badlogic.gdx.maps.tiled.objects.TiledMapTileMapObject;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
-
-import java.util.ArrayList;
-
-public class Enemy {
-    private Vector2 position;
-    private Vector2 velocity;
-    private float speed = 130f;
-    private Rectangle collisionRect;
-    private float damage = 10;
-    private float damageInterval = 1.0f;
-    private float damageTimer = 0;
-    private float size = 30f;
-    private float spriteWidth = 40f;
-    private float spriteHeight = 40f;
-    private int health = 90;
-    private boolean isStunned = false;
-    private float stunDuration = 0.3f;
-    private float stunTimer = 0;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Zombie behaviour over the slots of an {@link EnemyStore}. A tick is {@link #advanceTimers} over the whole store, then
+ * {@link #decide} per slot, which may run in parallel, then {@link #commit} per slot in order.
+ */
+public final class Enemy {
+    static final int MAX_HEALTH = 90;
+    static final float PATH_PROBE_SIZE = 30f;
+
+    private static final float SPEED = 130f;
+    private static final int DAMAGE = 10;
+    private static final float DAMAGE_INTERVAL = 1.0f;
+    private static final float STUN_DURATION = 0.3f;
+    static final float SPRITE_WIDTH = 40f;
+    static final float SPRITE_HEIGHT = 40f;
     private static final float MIN_ENEMY_DISTANCE = 1f;
 
-    private Animation<TextureRegion>[] walkAnimations;
-    private Animation<TextureRegion>[] idleAnimations;
-    private Animation<TextureRegion>[] attackAnimations;
-    private Animation<TextureRegion>[] deathAnimations;
-    private Animation<TextureRegion>[] stunAnimations;
-    private float stateTime;
-    private Direction currentDirection;
-    private EnemyState currentState;
-    private boolean isDead;
-
-    private Vector2 moveDirection;
-    private float obstacleAvoidanceTimer = 0;
-    private float obstacleAvoidanceInterval = 0.5f;
-    private boolean isAvoidingObstacle = false;
     private static final float RAY_LENGTH = 150f;
     private static final int NUM_RAYS = 128;
-    private Vector2 targetPosition;
-    private float pathFindingTimer = 0;
-    private float pathFindingInterval = 0.2f;
-
-    private float idleTimer = 0;
-    private float idleThreshold = 0.5f;
-    private boolean isCollisionDisabled = false;
-    private float collisionDisabledTimer = 0;
-    private float collisionDisabledDuration = 1f;
-
-    private enum Direction {
-        FRONT(0), BACK(1), RIGHT(2), LEFT(3);
-        final int index;
-        Direction(int index) { this.index = index; }
-    }
-
-    private enum EnemyState {
-        IDLE, WALKING, ATTACKING, DYING, STUNNED
-    }
-
-    @SuppressWarnings("unchecked")
-    public Enemy(float x, float y) {
-        position = new Vector2(x, y);
-        velocity = new Vector2();
-        moveDirection = new Vector2();
-        float collisionWidth = 25f;
-        float collisionHeight = 16f;
-        collisionRect = new Rectangle(x, y, collisionWidth, collisionHeight);
-
-        walkAnimations = new Animation[4];
-        idleAnimations = new Animation[4];
-        attackAnimations = new Animation[4];
-        deathAnimations = new Animation[4];
-        stunAnimations = new Animation[4];
-
-        loadAnimations();
-
-        currentDirection = Direction.FRONT;
-        currentState = EnemyState.IDLE;
-        stateTime = 0;
-        isDead = false;
-    }
+    private static final int FLOW_FIELD_MIN_STEPS = 3;
+    private static final float PATH_FINDING_INTERVAL = 0.2f;
 
-    private void loadAnimations() {
-        loadWalkAnimations();
-        loadIdleAnimations();
-        loadAttackAnimations();
-        loadDeathAnimations();
-        loadStunAnimations();
-    }
+    private static final float IDLE_THRESHOLD = 0.5f;
+    private static final float COLLISION_DISABLED_DURATION = 1f;
 
-    private void loadWalkAnimations() {
-        Texture walkSheet = new Texture(Gdx.files.internal("../assets/zombie/Walk.png"));
-        TextureRegion[][] tmp = TextureRegion.split(walkSheet,
-            walkSheet.getWidth() / 11,
-            walkSheet.getHeight() / 4);
+    private static final float[] RAY_X = new float[NUM_RAYS];
+    private static final float[] RAY_Y = new float[NUM_RAYS];
 
-        for (int dir = 0; dir < 4; dir++) {
-            TextureRegion[] walkFrames = new TextureRegion[10];
-            System.arraycopy(tmp[dir], 0, walkFrames, 0, 10);
-            walkAnimations[dir] = new Animation<>(0.1f, walkFrames);
+    static {
+        Vector2 ray = new Vector2();
+        for (int i = 0; i < NUM_RAYS; i++) {
+            ray.set(1, 0).rotate((360f / NUM_RAYS) * i).nor();
+            RAY_X[i] = ray.x;
+            RAY_Y[i] = ray.y;
         }
     }
 
-    private void loadIdleAnimations() {
-        Texture idleSheet = new Texture(Gdx.files.internal("../assets/zombie/Idle.png"));
-        TextureRegion[][] tmp = TextureRegion.split(idleSheet,
-            idleSheet.getWidth() / 6,
-            idleSheet.getHeight() / 4);
-
-        for (int dir = 0; dir < 4; dir++) {
-            TextureRegion[] idleFrames = new TextureRegion[5];
-            System.arraycopy(tmp[dir], 0, idleFrames, 0, 5);
-            idleAnimations[dir] = new Animation<>(0.1f, idleFrames);
-        }
+    private Enemy() {
     }
 
-    private void loadAttackAnimations() {
-        Texture attackSheet = new Texture(Gdx.files.internal("../assets/zombie/Attack.png"));
-        TextureRegion[][] tmp = TextureRegion.split(attackSheet,
-            attackSheet.getWidth() / 9,
-            attackSheet.getHeight() / 4);
-
-        for (int dir = 0; dir < 4; dir++) {
-            TextureRegion[] attackFrames = new TextureRegion[8];
-            System.arraycopy(tmp[dir], 0, attackFrames, 0, 8);
-            attackAnimations[dir] = new Animation<>(0.1f, attackFrames);
-        }
+    public static int spawn(EnemyStore store, float x, float y) {
+        return store.add(x, y, MAX_HEALTH);
     }
 
-    private void loadDeathAnimations() {
-        Texture deathSheet = new Texture(Gdx.files.internal("../assets/zombie/Death.png"));
-        TextureRegion[][] tmp = TextureRegion.split(deathSheet,
-            deathSheet.getWidth() / 8,
-            deathSheet.getHeight() / 4);
+    /**
+     * Timers and stun/death states of every enemy, and which of them act in this tick. The animation of
+     * {@link AiLod#FAR} enemies is frozen; dying ones still play it out, so their slots are freed.
+     */
+    public static void advanceTimers(EnemyStore store, float delta) {
+        for (int i = 0, n = store.size(); i < n; i++) {
+            store.previousX[i] = store.x[i];
+            store.previousY[i] = store.y[i];
+            if (store.lod[i] != AiLod.FAR || store.dead[i]) {
+                store.stateTime[i] += delta;
+            }
+            store.damageTimer[i] += delta;
+            store.pathFindingTimer[i] += delta;
+            store.acting[i] = false;
+
+            if (store.collisionDisabled[i]) {
+                store.collisionDisabledTimer[i] += delta;
+                if (store.collisionDisabledTimer[i] >= COLLISION_DISABLED_DURATION) {
+                    store.collisionDisabled[i] = false;
+                    store.collisionDisabledTimer[i] = 0;
+                }
+            }
 
-        for (int dir = 0; dir < 4; dir++) {
-            TextureRegion[] deathFrames = new TextureRegion[7];
-            System.arraycopy(tmp[dir], 0, deathFrames, 0, 7);
-            deathAnimations[dir] = new Animation<>(0.3f, deathFrames);
+            if (store.stunned[i]) {
+                store.stunTimer[i] += delta;
+                if (store.stunTimer[i] >= STUN_DURATION) {
+                    store.stunned[i] = false;
+                    store.stunTimer[i] = 0;
+                }
+                store.state[i] = EnemyStore.STUNNED;
+            } else if (store.dead[i]) {
+                store.state[i] = EnemyStore.DYING;
+            } else {
+                store.acting[i] = true;
+            }
         }
     }
 
-    private void loadStunAnimations() {
-        Texture stunSheet = new Texture(Gdx.files.internal("../assets/zombie/Stunned.png"));
-        TextureRegion[][] tmp = TextureRegion.split(stunSheet,
-            stunSheet.getWidth() / 6,
-            stunSheet.getHeight() / 4);
-
-        for (int dir = 0; dir < 4; dir++) {
-            TextureRegion[] stunFrames = new TextureRegion[5];
-            System.arraycopy(tmp[dir], 0, stunFrames, 0, 5);
-            stunAnimations[dir] = new Animation<>(0.1f, stunFrames);
+    /**
+     * Picks the move direction of an acting enemy. It reads the player, the shared grids and other slots but writes
+     * only slot {@code i}, so {@link EnemyDecisionPhase} runs it for all enemies in parallel.
+     * {@code neighbours} is caller-owned scratch space.
+     */
+    public static void decide(EnemyStore store, int i, float delta, Player player, OccupancyGrid occupancyGrid,
+                              EnemyGrid enemyGrid, FlowField flowField, IntArray neighbours) {
+        if (!store.acting[i]) {
+            return;
         }
-    }
 
-    public void update(float delta, Player player, MapObjects collisionObjects, ArrayList<Enemy> enemies) {
-        stateTime += delta;
-        damageTimer += delta;
-        obstacleAvoidanceTimer += delta;
-        pathFindingTimer += delta;
-
-        if (isCollisionDisabled) {
-            collisionDisabledTimer += delta;
-            if (collisionDisabledTimer >= collisionDisabledDuration) {
-                isCollisionDisabled = false;
-                collisionDisabledTimer = 0;
+        if (store.state[i] == EnemyStore.IDLE) {
+            store.idleTimer[i] += delta;
+            if (store.idleTimer[i] >= IDLE_THRESHOLD && !store.collisionDisabled[i]) {
+                store.collisionDisabled[i] = true;
+                store.collisionDisabledTimer[i] = 0;
             }
+        } else {
+            store.idleTimer[i] = 0;
         }
 
-        if (isStunned) {
-            stunTimer += delta;
-            if (stunTimer >= stunDuration) {
-                isStunned = false;
-                stunTimer = 0;
+        Vector2 target = player.getPosition();
+        byte lod = store.lod[i];
+        if (lod == AiLod.FAR) {
+            if (store.pathFindingTimer[i] >= AiLod.FAR_DECISION_INTERVAL) {
+                if (flowField == null || !followFlowField(store, i, flowField)) {
+                    moveTowards(store, i, target.x - store.x[i], target.y - store.y[i]);
+                }
+                store.pathFindingTimer[i] = 0;
             }
-            currentState = EnemyState.STUNNED;
-            return;
+        } else if (flowField != null && followFlowField(store, i, flowField)) {
+            store.pathFindingTimer[i] = 0;
+        } else if (store.replan[i]) {
+            findBestDirection(store, i, target.x, target.y, occupancyGrid, enemyGrid, neighbours,
+                lod == AiLod.MID ? AiLod.MID_RAY_STEP : 1);
+            store.pathFindingTimer[i] = 0;
         }
 
-        if (isDead) {
-            currentState = EnemyState.DYING;
+        updateDirection(store, i);
+    }
+
+    /** Moves an acting enemy, resolves collisions and deals contact damage; run for every slot in order. */
+    public static void commit(EnemyStore store, int i, float delta, Player player, CollisionGrid collisionGrid,
+                              EnemyGrid enemyGrid) {
+        if (!store.acting[i]) {
             return;
         }
 
-        targetPosition = player.getPosition();
+        float nextX = store.x[i] + store.moveX[i] * SPEED * delta;
+        float nextY = store.y[i] + store.moveY[i] * SPEED * delta;
 
-        if (currentState == EnemyState.IDLE && !isAttacking()) {
-            idleTimer += delta;
-            if (idleTimer >= idleThreshold && !isCollisionDisabled) {
-                isCollisionDisabled = true;
-                collisionDisabledTimer = 0;
-            }
+        boolean blocked = !store.collisionDisabled[i]
+            && (collisionGrid.overlaps(nextX, nextY, EnemyStore.COLLISION_WIDTH, EnemyStore.COLLISION_HEIGHT)
+            || enemyGrid.overlaps(nextX, nextY, EnemyStore.COLLISION_WIDTH, EnemyStore.COLLISION_HEIGHT, i));
+        if (!blocked) {
+            store.x[i] = nextX;
+            store.y[i] = nextY;
+            store.state[i] = EnemyStore.WALKING;
         } else {
-            idleTimer = 0;
+            store.state[i] = EnemyStore.IDLE;
         }
 
-        if (pathFindingTimer >= pathFindingInterval) {
-            moveDirection.set(findBestDirection(collisionObjects, enemies));
-            pathFindingTimer = 0;
+        Rectangle playerRect = player.getCollisionRect();
+        if (store.overlapsCollisionRect(i, playerRect.x, playerRect.y, playerRect.width, playerRect.height)) {
+            store.state[i] = EnemyStore.ATTACKING;
+            if (store.damageTimer[i] >= DAMAGE_INTERVAL) {
+                player.takeDamage(DAMAGE);
+                store.damageTimer[i] = 0;
+            }
         }
+    }
 
-        updateDirection(moveDirection);
-
-        float nextX = position.x + moveDirection.x * speed * delta;
-        float nextY = position.y + moveDirection.y * speed * delta;
+    public static void takeDamage(EnemyStore store, int i, int damage) {
+        if (store.dead[i]) return;
 
-        Rectangle nextPositionRect = new Rectangle(
-            nextX , nextY, collisionRect.width, collisionRect.height);
+        store.health[i] -= damage;
+        store.stunned[i] = true;
+        store.stunTimer[i] = 0;
 
-        if (!checkCollisions(nextPositionRect, collisionObjects) &&
-            !checkEnemyCollisions(nextPositionRect, enemies)) {
-            position.x = nextX;
-            position.y = nextY;
-            currentState = EnemyState.WALKING;
-        } else {
-            currentState = EnemyState.IDLE;
+        if (store.health[i] <= 0) {
+            store.dead[i] = true;
+            store.stateTime[i] = 0;
+            store.state[i] = EnemyStore.DYING;
         }
+    }
+
+    public static boolean isDeathAnimationComplete(EnemyStore store, int i) {
+        return store.state[i] == EnemyStore.DYING && EnemyAnimations.isDeathFinished(store.stateTime[i]);
+    }
 
-        collisionRect.setPosition(position.x + 10, position.y);
+    /** Queues every enemy between its previous and current tick positions; {@code alpha} is in [0, 1]. */
+    public static void queueDraw(EnemyStore store, EnemyAnimations animations, RenderQueue renderQueue, float alpha) {
+        for (int i = 0, n = store.size(); i < n; i++) {
+            float x = MathUtils.lerp(store.previousX[i], store.x[i], alpha);
+            float y = MathUtils.lerp(store.previousY[i], store.y[i], alpha);
+            TextureRegion frame = animations.getFrame(store.state[i], store.direction[i], store.stateTime[i]);
+            renderQueue.add(frame, x, y, SPRITE_WIDTH, SPRITE_HEIGHT, false, y);
+        }
+    }
 
-        if (collisionRect.overlaps(player.getCollisionRect())) {
-            currentState = EnemyState.ATTACKING;
-            if (damageTimer >= damageInterval) {
-                player.takeDamage((int)damage);
-                damageTimer = 0;
+    private static void updateDirection(EnemyStore store, int i) {
+        float dirX = store.moveX[i];
+        float dirY = store.moveY[i];
+        if (dirX * dirX + dirY * dirY > 0.01f) {
+            if (Math.abs(dirX) > Math.abs(dirY)) {
+                store.direction[i] = dirX > 0 ? EnemyStore.RIGHT : EnemyStore.LEFT;
+            } else {
+                store.direction[i] = dirY > 0 ? EnemyStore.BACK : EnemyStore.FRONT;
             }
         }
     }
 
-    private boolean checkEnemyCollisions(Rectangle nextPos, ArrayList<Enemy> enemies) {
-        if (isCollisionDisabled) {
+    /** Whether the enemy would run a ray search in {@link #decide}; {@link AiScheduler} grants the slots. */
+    static boolean isSearchDue(EnemyStore store, int i, FlowField flowField) {
+        if (!store.acting[i] || store.lod[i] == AiLod.FAR) {
             return false;
         }
-
-        for (Enemy otherEnemy : enemies) {
-            if (otherEnemy == this || otherEnemy.isDead) continue;
-
-            if (nextPos.overlaps(otherEnemy.getCollisionRect())) {
-                return true;
-            }
+        float interval = store.lod[i] == AiLod.MID ? AiLod.MID_DECISION_INTERVAL : PATH_FINDING_INTERVAL;
+        if (store.pathFindingTimer[i] < interval) {
+            return false;
         }
-        return false;
+        return flowField == null || flowField.getStepsToTarget(store.getCollisionX(i) + EnemyStore.COLLISION_WIDTH / 2,
+            store.getCollisionY(i) + EnemyStore.COLLISION_HEIGHT / 2) < FLOW_FIELD_MIN_STEPS;
     }
 
-    private void updateDirection(Vector2 direction) {
-        if (direction.len2() > 0.01f) {
-            if (Math.abs(direction.x) > Math.abs(direction.y)) {
-                currentDirection = direction.x > 0 ? Direction.RIGHT : Direction.LEFT;
-            } else {
-                currentDirection = direction.y > 0 ? Direction.BACK : Direction.FRONT;
-            }
+    // Вдали от игрока направление берётся из общего поля потока, последние клетки проходятся лучами
+    private static boolean followFlowField(EnemyStore store, int i, FlowField flowField) {
+        float centerX = store.getCollisionX(i) + EnemyStore.COLLISION_WIDTH / 2;
+        float centerY = store.getCollisionY(i) + EnemyStore.COLLISION_HEIGHT / 2;
+        if (flowField.getStepsToTarget(centerX, centerY) < FLOW_FIELD_MIN_STEPS) {
+            return false;
         }
+        return flowField.getDirection(centerX, centerY, store.moveX, store.moveY, i);
     }
 
-    private Vector2 findBestDirection(MapObjects collisionObjects, ArrayList<Enemy> enemies) {
-        Vector2 directionToTarget = new Vector2(
-            targetPosition.x - position.x,
-            targetPosition.y - position.y
-        );
+    private static void moveTowards(EnemyStore store, int i, float dx, float dy) {
+        float length = (float) Math.sqrt(dx * dx + dy * dy);
+        if (length != 0) {
+            store.moveX[i] = dx / length;
+            store.moveY[i] = dy / length;
+        } else {
+            store.moveX[i] = 0;
+            store.moveY[i] = 0;
+        }
+    }
 
-        float distanceToTarget = directionToTarget.len();
-        directionToTarget.nor();
+    /**
+     * Ray search for a direction towards the target; tests every {@code rayStep}-th of the {@link #NUM_RAYS} rays.
+     * findBestDirection and isPathBlocked are package-private for the benchmarks.
+     */
+    static void findBestDirection(EnemyStore store, int i, float targetX, float targetY,
+                                  OccupancyGrid occupancyGrid, EnemyGrid enemyGrid, IntArray neighbours,
+                                  int rayStep) {
+        float x = store.x[i];
+        float y = store.y[i];
+        float toTargetX = targetX - x;
+        float toTargetY = targetY - y;
+        float distanceToTarget = (float) Math.sqrt(toTargetX * toTargetX + toTargetY * toTargetY);
+
+        store.blocked[i] = isPathBlocked(store, i, x, y, targetX, targetY, occupancyGrid, enemyGrid);
+        if (!store.blocked[i]) {
+            moveTowards(store, i, toTargetX, toTargetY);
+            return;
+        }
 
-        if (!isPathBlocked(position, targetPosition, collisionObjects, enemies)) {
-            return directionToTarget;
+        GameEvents.FindDirection event = null;
+        if (GameEvents.enabled(GameEvents.FIND_DIRECTION)) {
+            event = new GameEvents.FindDirection();
+            event.begin();
         }
+        int blockedRays = 0;
 
-        Vector2 bestDirection = new Vector2(directionToTarget);
         float bestScore = Float.NEGATIVE_INFINITY;
+        float crowdingPenalty = calculateCrowdingPenalty(store, i, distanceToTarget, enemyGrid, neighbours);
+
+        for (int ray = 0; ray < NUM_RAYS; ray += rayStep) {
+            float rayX = RAY_X[ray];
+            float rayY = RAY_Y[ray];
+            float endX = x + rayX * RAY_LENGTH;
+            float endY = y + rayY * RAY_LENGTH;
+
+            // Знаковый угол от луча до цели, как у Vector2.angle(Vector2)
+            float angleToTarget = (float) Math.atan2(rayX * toTargetY - rayY * toTargetX,
+                rayX * toTargetX + rayY * toTargetY) * MathUtils.radiansToDegrees;
+            float score = 1000 - angleToTarget;
+
+            if (isPathBlocked(store, i, x, y, endX, endY, occupancyGrid, enemyGrid)) {
+                score -= 500;
+                blockedRays++;
+            }
 
-        for (int i = 0; i < NUM_RAYS; i++) {
-            float angle = (360f / NUM_RAYS) * i;
-            Vector2 rayDirection = new Vector2(1, 0).rotate(angle).nor();
-            Vector2 rayEnd = new Vector2(
-                position.x + rayDirection.x * RAY_LENGTH,
-                position.y + rayDirection.y * RAY_LENGTH
-            );
+            score -= crowdingPenalty;
 
-            float score = evaluateDirection(rayDirection, rayEnd, collisionObjects, enemies);
+            float newDistanceToTarget = Vector2.dst(endX, endY, targetX, targetY);
+            if (newDistanceToTarget < distanceToTarget) {
+                score += Math.min(400, 200 * (distanceToTarget / MIN_ENEMY_DISTANCE));
+            }
 
             if (score > bestScore) {
                 bestScore = score;
-                bestDirection.set(rayDirection);
+                store.moveX[i] = rayX;
+                store.moveY[i] = rayY;
             }
         }
 
         if (bestScore == Float.NEGATIVE_INFINITY) {
-            bestDirection.set(MathUtils.random(-1f, 1f), MathUtils.random(-1f, 1f)).nor();
+            float dirX = store.nextRandom(i) * 2 - 1;
+            float dirY = store.nextRandom(i) * 2 - 1;
+            float length = (float) Math.sqrt(dirX * dirX + dirY * dirY);
+            store.moveX[i] = length != 0 ? dirX / length : 0;
+            store.moveY[i] = length != 0 ? dirY / length : 0;
         }
 
-        return bestDirection;
-    }
-
-
-    private float evaluateDirection(Vector2 direction, Vector2 rayEnd,
-                                    MapObjects collisionObjects, ArrayList<Enemy> enemies) {
-        float angleToTarget = direction.angle(new Vector2(
-            targetPosition.x - position.x,
-            targetPosition.y - position.y
-        ));
-
-        float score = 1000 - angleToTarget;
-
-        if (isPathBlocked(position, rayEnd, collisionObjects, enemies)) {
-            score -= 500;
+        if (event != null) {
+            event.enemy = i;
+            event.rays = (NUM_RAYS + rayStep - 1) / rayStep;
+            event.blocked = blockedRays;
+            event.commit();
         }
+    }
 
-        float distanceToTarget = position.dst(targetPosition);
+    // Штраф за соседей не зависит от направления луча, поэтому считается один раз на поиск направления
+    private static float calculateCrowdingPenalty(EnemyStore store, int i, float distanceToTarget,
+                                                  EnemyGrid enemyGrid, IntArray neighbours) {
+        float x = store.x[i];
+        float y = store.y[i];
 
         float dynamicMinEnemyDistance = MIN_ENEMY_DISTANCE;
         if (distanceToTarget < MIN_ENEMY_DISTANCE * 2) {
             dynamicMinEnemyDistance = MIN_ENEMY_DISTANCE / 2;
         }
 
-        for (Enemy otherEnemy : enemies) {
-            if (otherEnemy == this || otherEnemy.isDead) continue;
+        neighbours.clear();
+        enemyGrid.query(x - dynamicMinEnemyDistance, y - dynamicMinEnemyDistance,
+            x + dynamicMinEnemyDistance, y + dynamicMinEnemyDistance, neighbours);
+
+        float penalty = 0;
+        for (int k = 0; k < neighbours.size; k++) {
+            int other = neighbours.get(k);
+            if (other == i || store.dead[other]) continue;
 
-            float distToEnemy = position.dst(otherEnemy.position);
+            float distToEnemy = Vector2.dst(x, y, store.x[other], store.y[other]);
             if (distToEnemy < dynamicMinEnemyDistance) {
                 float penaltyMultiplier = Math.max(0.2f, distanceToTarget / MIN_ENEMY_DISTANCE);
-                score -= (dynamicMinEnemyDistance - distToEnemy) * 10 * penaltyMultiplier;
-            }
-        }
-
-        Vector2 potentialPosition = new Vector2(
-            position.x + direction.x * RAY_LENGTH,
-            position.y + direction.y * RAY_LENGTH
-        );
-
-        float newDistanceToTarget = potentialPosition.dst(targetPosition);
-
-        if (newDistanceToTarget < distanceToTarget) {
-            float distanceBonus = Math.min(400, 200 * (distanceToTarget / MIN_ENEMY_DISTANCE));
-            score += distanceBonus;
-        }
-
-        return score;
-    }
-
-    private boolean isPathBlocked(Vector2 start, Vector2 end,
-                                  MapObjects collisionObjects, ArrayList<Enemy> enemies) {
-        Vector2 direction = new Vector2(end).sub(start);
-        float distance = direction.len();
-        direction.nor();
-
-        int numSteps = (int)(distance / (size / 2));
-        for (int i = 0; i < numSteps; i++) {
-            float stepX = start.x + direction.x * i * (size / 2);
-            float stepY = start.y + direction.y * i * (size / 2);
-
-            Rectangle testRect = new Rectangle(stepX, stepY, size, size);
-            if (checkCollisions(testRect, collisionObjects) ||
-                checkEnemyCollisions(testRect, enemies)) {
-                return true;
+                penalty += (dynamicMinEnemyDistance - distToEnemy) * 10 * penaltyMultiplier;
             }
         }
-
-        return false;
+        neighbours.clear();
+        return penalty;
     }
 
-    private boolean checkCollisions(Rectangle nextPos, MapObjects collisionObjects) {
-        if (isCollisionDisabled) {
+    static boolean isPathBlocked(EnemyStore store, int i, float startX, float startY, float endX, float endY,
+                                 OccupancyGrid occupancyGrid, EnemyGrid enemyGrid) {
+        if (store.collisionDisabled[i]) {
             return false;
         }
 
-        for (MapObject object : collisionObjects) {
-            if (object instanceof TiledMapTileMapObject tileObject) {
-                TiledMapTile tile = tileObject.getTile();
-                if (tile != null && tile.getObjects().getCount() > 0) {
-                    Rectangle tileRect = ((RectangleMapObject)tile.getObjects().get(0)).getRectangle();
-                    tileRect = new Rectangle(
-                        tileObject.getX() + tileRect.x,
-                        tileObject.getY() + tileRect.y,
-                        tileRect.width,
-                        tileRect.height
-                    );
-                    if (nextPos.overlaps(tileRect)) {
-                        return true;
-                    }
-                }
-            }
-        }
-        return false;
-    }
-
-    public TextureRegion getCurrentFrame() {
-        Animation<TextureRegion>[] currentAnimations;
-        switch (currentState) {
-            case WALKING:
-                currentAnimations = walkAnimations;
-                break;
-            case ATTACKING:
-                currentAnimations = attackAnimations;
-                break;
-            case DYING:
-                currentAnimations = deathAnimations;
-                break;
-            case STUNNED:
-                currentAnimations = stunAnimations;
-                break;
-            default:
-                currentAnimations = idleAnimations;
-        }
-        return currentAnimations[currentDirection.index].getKeyFrame(stateTime,
-            currentState != EnemyState.DYING);
-    }
-
-    public void draw(SpriteBatch batch) {
-        TextureRegion currentFrame = getCurrentFrame();
-        batch.draw(currentFrame, position.x, position.y, 80f, 80f);
-    }
-
-    public Vector2 getPosition() {
-        return position;
-    }
-
-    public Rectangle getCollisionRect() {
-        return collisionRect;
-    }
-
-    public void takeDamage(int damage) {
-        if (isDead) return;
-
-        health -= damage;
-        isStunned = true;
-        stunTimer = 0;
-
-        if (health <= 0) {
-            die();
-        }
-    }
-
-    public boolean isDead() {
-        return isDead;
-    }
-
-    private boolean isAttacking() {
-        return currentState == EnemyState.ATTACKING;
-    }
-
-
-    public void die() {
-        if (!isDead) {
-            isDead = true;
-            stateTime = 0;
-            currentState = EnemyState.DYING;
-        }
-    }
-
-    public boolean isDeathAnimationComplete() {
-        return currentState == EnemyState.DYING &&
-            deathAnimations[currentDirection.index].isAnimationFinished(stateTime);
+        float step = PATH_PROBE_SIZE / 2;
+        return occupancyGrid.isSweepBlocked(startX, startY, endX, endY, step) ||
+            enemyGrid.isSweepBlocked(startX, startY, endX, endY, step, PATH_PROBE_SIZE, i);
     }
 }
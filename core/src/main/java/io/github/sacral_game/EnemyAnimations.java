@@ -0,0 +1,97 @@
+package io.github.sacral_game;
+
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/** Zombie animations shared by every {@link Enemy}, cut from the {@link GameAtlas} and reference-counted per screen. */
+public class EnemyAnimations {
+    // Длительность смерти нужна логике и без текстур: 7 кадров по 0.3 с
+    private static final int DEATH_FRAMES = 7;
+    private static final float DEATH_FRAME_DURATION = 0.3f;
+
+    private static EnemyAnimations shared;
+    private static int references;
+
+    private final Animation<TextureRegion>[] walkAnimations;
+    private final Animation<TextureRegion>[] idleAnimations;
+    private final Animation<TextureRegion>[] attackAnimations;
+    private final Animation<TextureRegion>[] deathAnimations;
+    private final Animation<TextureRegion>[] stunAnimations;
+
+    public static EnemyAnimations obtain() {
+        if (shared == null) {
+            shared = new EnemyAnimations();
+        }
+        references++;
+        return shared;
+    }
+
+    public static void release() {
+        if (references == 0) {
+            return;
+        }
+        references--;
+        if (references == 0) {
+            shared.dispose();
+            shared = null;
+        }
+    }
+
+    private EnemyAnimations() {
+        TextureAtlas atlas = GameAtlas.obtain();
+        walkAnimations = createAnimations(GameAtlas.findRegion(atlas, "zombie/Walk"), 11, 10, 0.1f);
+        idleAnimations = createAnimations(GameAtlas.findRegion(atlas, "zombie/Idle"), 6, 5, 0.1f);
+        attackAnimations = createAnimations(GameAtlas.findRegion(atlas, "zombie/Attack"), 9, 8, 0.1f);
+        deathAnimations = createAnimations(GameAtlas.findRegion(atlas, "zombie/Death"), 8, DEATH_FRAMES,
+            DEATH_FRAME_DURATION);
+        stunAnimations = createAnimations(GameAtlas.findRegion(atlas, "zombie/Stunned"), 6, 5, 0.1f);
+    }
+
+    /** Same test as {@link Animation#isAnimationFinished(float)} on the death animation. */
+    static boolean isDeathFinished(float stateTime) {
+        return (int) (stateTime / DEATH_FRAME_DURATION) > DEATH_FRAMES - 1;
+    }
+
+    /** Frame for one of the {@link EnemyStore} states and directions. */
+    public TextureRegion getFrame(byte state, byte direction, float stateTime) {
+        Animation<TextureRegion>[] animations;
+        switch (state) {
+            case EnemyStore.WALKING:
+                animations = walkAnimations;
+                break;
+            case EnemyStore.ATTACKING:
+                animations = attackAnimations;
+                break;
+            case EnemyStore.DYING:
+                animations = deathAnimations;
+                break;
+            case EnemyStore.STUNNED:
+                animations = stunAnimations;
+                break;
+            default:
+                animations = idleAnimations;
+        }
+        return animations[direction].getKeyFrame(stateTime, state != EnemyStore.DYING);
+    }
+
+    // Лист разбит на 4 строки по направлениям, в каждой строке columns кадров, из них используются frameCount
+    @SuppressWarnings("unchecked")
+    private static Animation<TextureRegion>[] createAnimations(TextureRegion sheet, int columns, int frameCount, float frameDuration) {
+        TextureRegion[][] tmp = sheet.split(
+            sheet.getRegionWidth() / columns,
+            sheet.getRegionHeight() / 4);
+
+        Animation<TextureRegion>[] animations = new Animation[4];
+        for (int dir = 0; dir < 4; dir++) {
+            TextureRegion[] frames = new TextureRegion[frameCount];
+            System.arraycopy(tmp[dir], 0, frames, 0, frameCount);
+            animations[dir] = new Animation<>(frameDuration, frames);
+        }
+        return animations;
+    }
+
+    private void dispose() {
+        GameAtlas.release();
+    }
+}
@@ -0,0 +1,109 @@
+package io.github.sacral_game;
+
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs {@link Enemy#decide} for every slot of the store on a fork-join pool. A decision writes only its own slot and
+ * reads state that no decision changes, so the outcome does not depend on how the work is split; movement, collisions
+ * and damage are applied afterwards by {@link Enemy#commit} on the calling thread, in slot order.
+ */
+public class EnemyDecisionPhase {
+    private static final int BATCH_SIZE = 16;
+
+    private final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    private final ThreadLocal<IntArray> neighbours = ThreadLocal.withInitial(IntArray::new);
+
+    private EnemyStore enemies;
+    private float delta;
+    private Player player;
+    private OccupancyGrid occupancyGrid;
+    private EnemyGrid enemyGrid;
+    private FlowField flowField;
+    private AiLod aiLod;
+    private AiScheduler scheduler;
+
+    public void run(EnemyStore enemies, float delta, Player player, OccupancyGrid occupancyGrid,
+                    EnemyGrid enemyGrid, FlowField flowField, AiLod aiLod, AiScheduler scheduler) {
+        this.aiLod = aiLod;
+        this.scheduler = scheduler;
+        this.enemies = enemies;
+        this.delta = delta;
+        this.player = player;
+        this.occupancyGrid = occupancyGrid;
+        this.enemyGrid = enemyGrid;
+        this.flowField = flowField;
+
+        // Для нескольких врагов передача задач в пул дороже самих решений
+        if (enemies.size() <= BATCH_SIZE) {
+            decide(0, enemies.size());
+        } else {
+            pool.invoke(new DecisionTask(0, enemies.size()));
+        }
+
+        this.enemies = null;
+        this.player = null;
+    }
+
+    private void decide(int from, int to) {
+        IntArray scratch = neighbours.get();
+        boolean timing = aiLod.isTimingEnabled();
+
+        // Время копится в локальных переменных и сбрасывается в общие счётчики раз на пакет; поиски по лучам
+        // замеряются всегда, по ним AiScheduler оценивает стоимость слота
+        long near = 0, mid = 0, far = 0, search = 0;
+        for (int i = from; i < to; i++) {
+            boolean replan = enemies.replan[i];
+            if (!timing && !replan) {
+                Enemy.decide(enemies, i, delta, player, occupancyGrid, enemyGrid, flowField, scratch);
+                continue;
+            }
+
+            long start = System.nanoTime();
+            Enemy.decide(enemies, i, delta, player, occupancyGrid, enemyGrid, flowField, scratch);
+            long spent = System.nanoTime() - start;
+            if (replan) {
+                search += spent;
+            }
+            if (timing) {
+                switch (enemies.lod[i]) {
+                    case AiLod.NEAR -> near += spent;
+                    case AiLod.MID -> mid += spent;
+                    default -> far += spent;
+                }
+            }
+        }
+        if (timing) {
+            aiLod.addDecisionNanos(near, mid, far);
+        }
+        if (search != 0) {
+            scheduler.addSearchNanos(search);
+        }
+    }
+
+    public void dispose() {
+        pool.shutdown();
+    }
+
+    private class DecisionTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+
+        DecisionTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BATCH_SIZE) {
+                decide(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new DecisionTask(from, middle), new DecisionTask(middle, to));
+        }
+    }
+}
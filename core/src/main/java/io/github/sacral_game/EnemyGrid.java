@@ -0,0 +1,237 @@
+package io.github.sacral_game;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+
+/**
+ * Spatial hash of {@link EnemyStore} slots, rebuilt by {@link World} each tick and whenever slots are removed or added.
+ * Enemies keep moving after the rebuild, so every query widens its cell range by {@link #QUERY_SLACK} and then tests
+ * live positions.
+ */
+public class EnemyGrid {
+    private static final float QUERY_SLACK = 16f;
+    // Прямоугольник коллизии врага смещён от позиции не больше чем на эти величины
+    private static final float MAX_RECT_WIDTH = 40f;
+    private static final float MAX_RECT_HEIGHT = 20f;
+
+    private final float cellSize;
+    private EnemyStore store;
+    private int count;
+    private int mask;
+    private int[] bucketStart = new int[17];
+    private int[] bucketFill = new int[16];
+    private int[] itemCellX = new int[16];
+    private int[] itemCellY = new int[16];
+    private int[] sorted = new int[16];
+    private int[] sortedCellX = new int[16];
+    private int[] sortedCellY = new int[16];
+
+    public EnemyGrid(float cellSize, int capacity) {
+        this.cellSize = cellSize;
+        ensureCapacity(capacity);
+        int buckets = MathUtils.nextPowerOfTwo(Math.max(16, capacity * 2));
+        bucketStart = new int[buckets + 1];
+        bucketFill = new int[buckets];
+    }
+
+    public void rebuild(EnemyStore enemies) {
+        store = enemies;
+        count = enemies.size();
+        ensureCapacity(count);
+
+        int buckets = MathUtils.nextPowerOfTwo(Math.max(16, count * 2));
+        if (bucketFill.length < buckets) {
+            bucketStart = new int[buckets + 1];
+            bucketFill = new int[buckets];
+        }
+        mask = buckets - 1;
+        Arrays.fill(bucketStart, 0, buckets + 1, 0);
+
+        for (int i = 0; i < count; i++) {
+            itemCellX[i] = cell(enemies.getX(i));
+            itemCellY[i] = cell(enemies.getY(i));
+            bucketStart[bucket(itemCellX[i], itemCellY[i]) + 1]++;
+        }
+        for (int b = 0; b < buckets; b++) {
+            bucketStart[b + 1] += bucketStart[b];
+        }
+
+        System.arraycopy(bucketStart, 0, bucketFill, 0, buckets);
+        for (int i = 0; i < count; i++) {
+            int slot = bucketFill[bucket(itemCellX[i], itemCellY[i])]++;
+            sorted[slot] = i;
+            sortedCellX[slot] = itemCellX[i];
+            sortedCellY[slot] = itemCellY[i];
+        }
+    }
+
+    /** Whether the rectangle overlaps the collision rectangle of any living enemy other than slot {@code ignore}. */
+    public boolean overlaps(float x, float y, float width, float height, int ignore) {
+        int x0 = cell(x - MAX_RECT_WIDTH - QUERY_SLACK), x1 = cell(x + width + QUERY_SLACK);
+        int y0 = cell(y - MAX_RECT_HEIGHT - QUERY_SLACK), y1 = cell(y + height + QUERY_SLACK);
+
+        for (int cy = y0; cy <= y1; cy++) {
+            for (int cx = x0; cx <= x1; cx++) {
+                int b = bucket(cx, cy);
+                for (int i = bucketStart[b], end = bucketStart[b + 1]; i < end; i++) {
+                    if (sortedCellX[i] != cx || sortedCellY[i] != cy) continue;
+                    int enemy = sorted[i];
+                    if (enemy == ignore || store.isDead(enemy)) continue;
+                    if (store.overlapsCollisionRect(enemy, x, y, width, height)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether a square probe stepped along the segment, as in {@link OccupancyGrid#isSweepBlocked}, overlaps the
+     * collision rectangle of any living enemy other than slot {@code ignore}.
+     */
+    public boolean isSweepBlocked(float startX, float startY, float endX, float endY, float step, float probe,
+                                  int ignore) {
+        float dx = endX - startX;
+        float dy = endY - startY;
+        float distance = (float) Math.sqrt(dx * dx + dy * dy);
+        if (distance == 0) {
+            return false;
+        }
+        float dirX = dx / distance;
+        float dirY = dy / distance;
+        int numSteps = (int) (distance / step);
+        if (numSteps == 0) {
+            return false;
+        }
+
+        float lastX = startX + dirX * (numSteps - 1) * step;
+        float lastY = startY + dirY * (numSteps - 1) * step;
+        int x0 = cell(Math.min(startX, lastX) - MAX_RECT_WIDTH - QUERY_SLACK);
+        int x1 = cell(Math.max(startX, lastX) + probe + QUERY_SLACK);
+        int y0 = cell(Math.min(startY, lastY) - MAX_RECT_HEIGHT - QUERY_SLACK);
+        int y1 = cell(Math.max(startY, lastY) + probe + QUERY_SLACK);
+
+        for (int cy = y0; cy <= y1; cy++) {
+            for (int cx = x0; cx <= x1; cx++) {
+                int b = bucket(cx, cy);
+                for (int i = bucketStart[b], end = bucketStart[b + 1]; i < end; i++) {
+                    if (sortedCellX[i] != cx || sortedCellY[i] != cy) continue;
+                    int enemy = sorted[i];
+                    if (enemy == ignore || store.isDead(enemy)) continue;
+                    if (sweepHits(store.getCollisionX(enemy), store.getCollisionY(enemy), EnemyStore.COLLISION_WIDTH,
+                        EnemyStore.COLLISION_HEIGHT, startX, startY, dirX, dirY, step, numSteps, probe)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    // Отсчёт i задевает rect, если левый нижний угол пробы лежит в (rectX - probe, rectX + rectWidth) по x
+    // и аналогично по y; диапазон индексов считается аналитически, а крайние отсчёты проверяются точно
+    private static boolean sweepHits(float rectX, float rectY, float rectWidth, float rectHeight, float startX,
+                                     float startY, float dirX, float dirY, float step, int numSteps, float probe) {
+        float lo = 0;
+        float hi = numSteps - 1;
+        if (dirX != 0) {
+            float a = (rectX - probe - startX) / (dirX * step);
+            float b = (rectX + rectWidth - startX) / (dirX * step);
+            lo = Math.max(lo, Math.min(a, b));
+            hi = Math.min(hi, Math.max(a, b));
+        } else if (!(startX + probe > rectX && startX < rectX + rectWidth)) {
+            return false;
+        }
+        if (dirY != 0) {
+            float a = (rectY - probe - startY) / (dirY * step);
+            float b = (rectY + rectHeight - startY) / (dirY * step);
+            lo = Math.max(lo, Math.min(a, b));
+            hi = Math.min(hi, Math.max(a, b));
+        } else if (!(startY + probe > rectY && startY < rectY + rectHeight)) {
+            return false;
+        }
+        if (lo > hi + 1) {
+            return false;
+        }
+
+        int first = Math.max(0, (int) Math.floor(lo) - 1);
+        int last = Math.min(numSteps - 1, (int) Math.ceil(hi) + 1);
+        for (int i = first; i <= last; i++) {
+            float x = startX + dirX * i * step;
+            float y = startY + dirY * i * step;
+            if (x < rectX + rectWidth && x + probe > rectX && y < rectY + rectHeight && y + probe > rectY) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Whether any enemy position lies strictly inside the box; stops at the first one found. */
+    public boolean containsAny(float minX, float minY, float maxX, float maxY) {
+        int x0 = cell(minX - QUERY_SLACK), x1 = cell(maxX + QUERY_SLACK);
+        int y0 = cell(minY - QUERY_SLACK), y1 = cell(maxY + QUERY_SLACK);
+
+        for (int cy = y0; cy <= y1; cy++) {
+            for (int cx = x0; cx <= x1; cx++) {
+                int b = bucket(cx, cy);
+                for (int i = bucketStart[b], end = bucketStart[b + 1]; i < end; i++) {
+                    if (sortedCellX[i] != cx || sortedCellY[i] != cy) continue;
+                    int enemy = sorted[i];
+                    float x = store.getX(enemy);
+                    float y = store.getY(enemy);
+                    if (x > minX && x < maxX && y > minY && y < maxY) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /** Collects slots of enemies whose position lies inside the given bounds, inclusive. Returns the number added. */
+    public int query(float minX, float minY, float maxX, float maxY, IntArray out) {
+        int x0 = cell(minX - QUERY_SLACK), x1 = cell(maxX + QUERY_SLACK);
+        int y0 = cell(minY - QUERY_SLACK), y1 = cell(maxY + QUERY_SLACK);
+        int added = 0;
+
+        for (int cy = y0; cy <= y1; cy++) {
+            for (int cx = x0; cx <= x1; cx++) {
+                int b = bucket(cx, cy);
+                for (int i = bucketStart[b], end = bucketStart[b + 1]; i < end; i++) {
+                    if (sortedCellX[i] != cx || sortedCellY[i] != cy) continue;
+                    int enemy = sorted[i];
+                    float x = store.getX(enemy);
+                    float y = store.getY(enemy);
+                    if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                        out.add(enemy);
+                        added++;
+                    }
+                }
+            }
+        }
+        return added;
+    }
+
+    private int cell(float coordinate) {
+        return MathUtils.floor(coordinate / cellSize);
+    }
+
+    private int bucket(int cx, int cy) {
+        return (cx * 73856093 ^ cy * 19349663) & mask;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (sorted.length >= capacity) {
+            return;
+        }
+        int size = MathUtils.nextPowerOfTwo(capacity);
+        itemCellX = new int[size];
+        itemCellY = new int[size];
+        sorted = new int[size];
+        sortedCellX = new int[size];
+        sortedCellY = new int[size];
+    }
+}
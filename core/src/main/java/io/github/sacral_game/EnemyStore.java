@@ -0,0 +1,255 @@
+package io.github.sacral_game;
+
+import com.badlogic.gdx.math.Rectangle;
+
+import java.util.Arrays;
+
+/**
+ * Struct-of-arrays storage of the horde: every enemy is a slot in parallel primitive arrays, updated by the loops in
+ * {@link Enemy}. Slots are dense; {@link #remove} moves the last enemy into the freed slot, so an index stays valid only
+ * until the next removal.
+ * <p>
+ * The arrays act as the enemy pool: they are allocated for the expected horde up front, a killed enemy's slot is
+ * reinitialised in place by the next {@link #add}, and only growing past the capacity allocates.
+ */
+public class EnemyStore {
+    // Состояния анимации
+    static final byte IDLE = 0;
+    static final byte WALKING = 1;
+    static final byte ATTACKING = 2;
+    static final byte DYING = 3;
+    static final byte STUNNED = 4;
+
+    // Направления совпадают со строками листов EnemyAnimations
+    static final byte FRONT = 0;
+    static final byte BACK = 1;
+    static final byte RIGHT = 2;
+    static final byte LEFT = 3;
+
+    static final float COLLISION_OFFSET_X = 10f;
+    static final float COLLISION_WIDTH = 25f;
+    static final float COLLISION_HEIGHT = 16f;
+
+    private int size;
+    private int peakSize;
+    private int slotHits;
+    private int slotMisses;
+
+    float[] x;
+    float[] y;
+    float[] previousX;
+    float[] previousY;
+    float[] moveX;
+    float[] moveY;
+
+    float[] stateTime;
+    float[] damageTimer;
+    float[] stunTimer;
+    float[] pathFindingTimer;
+    float[] idleTimer;
+    float[] collisionDisabledTimer;
+
+    int[] health;
+    byte[] state;
+    byte[] direction;
+    boolean[] stunned;
+    boolean[] dead;
+    boolean[] collisionDisabled;
+    // Враг действует в текущем тике: не оглушён и не мёртв
+    boolean[] acting;
+    // Уровень детализации ИИ из AiLod
+    byte[] lod;
+    // Слот поиска направления от AiScheduler и итог последнего поиска
+    boolean[] replan;
+    boolean[] blocked;
+    long[] randomState;
+
+    public EnemyStore(int capacity) {
+        allocate(Math.max(1, capacity));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Adds an idle enemy with full health at the given position and returns its slot. */
+    public int add(float startX, float startY, int startHealth) {
+        if (size == x.length) {
+            grow(size * 2);
+            slotMisses++;
+        } else {
+            slotHits++;
+        }
+        int i = size++;
+        peakSize = Math.max(peakSize, size);
+        x[i] = startX;
+        y[i] = startY;
+        previousX[i] = startX;
+        previousY[i] = startY;
+        moveX[i] = 0;
+        moveY[i] = 0;
+        stateTime[i] = 0;
+        damageTimer[i] = 0;
+        stunTimer[i] = 0;
+        pathFindingTimer[i] = 0;
+        idleTimer[i] = 0;
+        collisionDisabledTimer[i] = 0;
+        health[i] = startHealth;
+        state[i] = IDLE;
+        direction[i] = FRONT;
+        stunned[i] = false;
+        dead[i] = false;
+        collisionDisabled[i] = false;
+        acting[i] = false;
+        lod[i] = AiLod.NEAR;
+        replan[i] = false;
+        blocked[i] = false;
+        // Зерно зависит только от точки появления, чтобы решения были детерминированы
+        long seed = ((long) Float.floatToIntBits(startX) << 32) ^ Float.floatToIntBits(startY);
+        seed = (seed ^ (seed >>> 33)) * 0xff51afd7ed558ccdL;
+        randomState[i] = seed == 0 ? 0x9E3779B97F4A7C15L : seed;
+        return i;
+    }
+
+    /** Removes the enemy in the slot by moving the last enemy into it. */
+    public void remove(int i) {
+        int last = --size;
+        if (i == last) {
+            return;
+        }
+        x[i] = x[last];
+        y[i] = y[last];
+        previousX[i] = previousX[last];
+        previousY[i] = previousY[last];
+        moveX[i] = moveX[last];
+        moveY[i] = moveY[last];
+        stateTime[i] = stateTime[last];
+        damageTimer[i] = damageTimer[last];
+        stunTimer[i] = stunTimer[last];
+        pathFindingTimer[i] = pathFindingTimer[last];
+        idleTimer[i] = idleTimer[last];
+        collisionDisabledTimer[i] = collisionDisabledTimer[last];
+        health[i] = health[last];
+        state[i] = state[last];
+        direction[i] = direction[last];
+        stunned[i] = stunned[last];
+        dead[i] = dead[last];
+        collisionDisabled[i] = collisionDisabled[last];
+        acting[i] = acting[last];
+        lod[i] = lod[last];
+        replan[i] = replan[last];
+        blocked[i] = blocked[last];
+        randomState[i] = randomState[last];
+    }
+
+    /** Adds served from already allocated slots. */
+    public int getSlotHits() {
+        return slotHits;
+    }
+
+    /** Adds that had to grow the arrays. */
+    public int getSlotMisses() {
+        return slotMisses;
+    }
+
+    public int getPeakSize() {
+        return peakSize;
+    }
+
+    public int getCapacity() {
+        return x.length;
+    }
+
+    public float getX(int i) {
+        return x[i];
+    }
+
+    public float getY(int i) {
+        return y[i];
+    }
+
+    public boolean isDead(int i) {
+        return dead[i];
+    }
+
+    public float getCollisionX(int i) {
+        return x[i] + COLLISION_OFFSET_X;
+    }
+
+    public float getCollisionY(int i) {
+        return y[i];
+    }
+
+    public Rectangle getCollisionRect(int i, Rectangle out) {
+        return out.set(x[i] + COLLISION_OFFSET_X, y[i], COLLISION_WIDTH, COLLISION_HEIGHT);
+    }
+
+    /** Same test as {@link Rectangle#overlaps(Rectangle)} against the enemy's collision rectangle. */
+    public boolean overlapsCollisionRect(int i, float rectX, float rectY, float width, float height) {
+        float left = x[i] + COLLISION_OFFSET_X;
+        return rectX < left + COLLISION_WIDTH && rectX + width > left
+            && rectY < y[i] + COLLISION_HEIGHT && rectY + height > y[i];
+    }
+
+    /** Uniform float in [0, 1) from the slot's own xorshift generator. */
+    float nextRandom(int i) {
+        long s = randomState[i];
+        s ^= s << 13;
+        s ^= s >>> 7;
+        s ^= s << 17;
+        randomState[i] = s;
+        return (s >>> 40) / (float) (1 << 24);
+    }
+
+    private void allocate(int capacity) {
+        x = new float[capacity];
+        y = new float[capacity];
+        previousX = new float[capacity];
+        previousY = new float[capacity];
+        moveX = new float[capacity];
+        moveY = new float[capacity];
+        stateTime = new float[capacity];
+        damageTimer = new float[capacity];
+        stunTimer = new float[capacity];
+        pathFindingTimer = new float[capacity];
+        idleTimer = new float[capacity];
+        collisionDisabledTimer = new float[capacity];
+        health = new int[capacity];
+        state = new byte[capacity];
+        direction = new byte[capacity];
+        stunned = new boolean[capacity];
+        dead = new boolean[capacity];
+        collisionDisabled = new boolean[capacity];
+        acting = new boolean[capacity];
+        lod = new byte[capacity];
+        replan = new boolean[capacity];
+        blocked = new boolean[capacity];
+        randomState = new long[capacity];
+    }
+
+    private void grow(int capacity) {
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        previousX = Arrays.copyOf(previousX, capacity);
+        previousY = Arrays.copyOf(previousY, capacity);
+        moveX = Arrays.copyOf(moveX, capacity);
+        moveY = Arrays.copyOf(moveY, capacity);
+        stateTime = Arrays.copyOf(stateTime, capacity);
+        damageTimer = Arrays.copyOf(damageTimer, capacity);
+        stunTimer = Arrays.copyOf(stunTimer, capacity);
+        pathFindingTimer = Arrays.copyOf(pathFindingTimer, capacity);
+        idleTimer = Arrays.copyOf(idleTimer, capacity);
+        collisionDisabledTimer = Arrays.copyOf(collisionDisabledTimer, capacity);
+        health = Arrays.copyOf(health, capacity);
+        state = Arrays.copyOf(state, capacity);
+        direction = Arrays.copyOf(direction, capacity);
+        stunned = Arrays.copyOf(stunned, capacity);
+        dead = Arrays.copyOf(dead, capacity);
+        collisionDisabled = Arrays.copyOf(collisionDisabled, capacity);
+        acting = Arrays.copyOf(acting, capacity);
+        lod = Arrays.copyOf(lod, capacity);
+        replan = Arrays.copyOf(replan, capacity);
+        blocked = Arrays.copyOf(blocked, capacity);
+        randomState = Arrays.copyOf(randomState, capacity);
+    }
+}
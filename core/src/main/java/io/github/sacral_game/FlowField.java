@@ -0,0 +1,187 @@
+package io.github.sacral_game;
+
+import com.badlogic.gdx.math.MathUtils;
+
+import java.util.Arrays;
+
+/**
+ * Tile-sized walkability grid with a Dijkstra distance field toward the player's tile. The field is recomputed only
+ * when the player moves to another tile; enemies then read their next step with a single lookup.
+ */
+public class FlowField {
+    private static final int STRAIGHT_COST = 10;
+    private static final int DIAGONAL_COST = 14;
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+    private static final int[] NEIGHBOUR_X = {1, -1, 0, 0, 1, 1, -1, -1};
+    private static final int[] NEIGHBOUR_Y = {0, 0, 1, -1, 1, -1, 1, -1};
+
+    private final int columns;
+    private final int rows;
+    private final float cellWidth;
+    private final float cellHeight;
+    private final boolean[] blocked;
+    private final int[] distance;
+    // Индекс соседней клетки, в которую нужно идти, или -1
+    private final int[] next;
+
+    private final int[] heap;
+    private final int[] heapCost;
+    private int heapSize;
+
+    private int targetCell = -1;
+
+    public FlowField(CollisionGrid collisionGrid, int columns, int rows, float cellWidth, float cellHeight) {
+        this.columns = columns;
+        this.rows = rows;
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+
+        int cells = columns * rows;
+        blocked = new boolean[cells];
+        distance = new int[cells];
+        next = new int[cells];
+        // Клетка может попасть в кучу несколько раз, по разу на каждое улучшение расстояния
+        heap = new int[cells * 8 + 1];
+        heapCost = new int[cells * 8 + 1];
+
+        for (int cy = 0; cy < rows; cy++) {
+            for (int cx = 0; cx < columns; cx++) {
+                blocked[cy * columns + cx] = collisionGrid.overlaps(cx * cellWidth, cy * cellHeight, cellWidth, cellHeight);
+            }
+        }
+        Arrays.fill(distance, UNREACHABLE);
+        Arrays.fill(next, -1);
+    }
+
+    /** Recomputes the field if the target has moved to another cell since the last call. */
+    public void update(float targetX, float targetY) {
+        int cell = cellAt(targetX, targetY);
+        if (cell == targetCell) {
+            return;
+        }
+        targetCell = cell;
+
+        Arrays.fill(distance, UNREACHABLE);
+        Arrays.fill(next, -1);
+        if (cell < 0) {
+            return;
+        }
+
+        heapSize = 0;
+        distance[cell] = 0;
+        push(cell, 0);
+        while (heapSize > 0) {
+            int cost = heapCost[0];
+            int current = pop();
+            if (cost > distance[current]) {
+                continue;
+            }
+
+            int cx = current % columns;
+            int cy = current / columns;
+            for (int i = 0; i < 8; i++) {
+                int nx = cx + NEIGHBOUR_X[i];
+                int ny = cy + NEIGHBOUR_Y[i];
+                if (!isWalkable(nx, ny) || (i >= 4 && cutsCorner(cx, cy, nx, ny))) {
+                    continue;
+                }
+                int neighbour = ny * columns + nx;
+                int newCost = cost + (i < 4 ? STRAIGHT_COST : DIAGONAL_COST);
+                if (newCost < distance[neighbour]) {
+                    distance[neighbour] = newCost;
+                    next[neighbour] = current;
+                    push(neighbour, newCost);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the normalized direction from the given point toward the centre of the next cell on the way to the
+     * target into {@code outX[index]} and {@code outY[index]}. Returns false when the point is outside the field, on
+     * an unreachable cell or already in the target cell.
+     */
+    public boolean getDirection(float x, float y, float[] outX, float[] outY, int index) {
+        int cell = cellAt(x, y);
+        if (cell < 0 || next[cell] < 0) {
+            return false;
+        }
+
+        int step = next[cell];
+        float stepX = (step % columns + 0.5f) * cellWidth;
+        float stepY = (step / columns + 0.5f) * cellHeight;
+        float length = (float) Math.sqrt((stepX - x) * (stepX - x) + (stepY - y) * (stepY - y));
+        if (length < 0.01f) {
+            return false;
+        }
+        outX[index] = (stepX - x) / length;
+        outY[index] = (stepY - y) / length;
+        return true;
+    }
+
+    /** Number of cells between the point and the target along the field, or -1 if there is no path. */
+    public int getStepsToTarget(float x, float y) {
+        int cell = cellAt(x, y);
+        if (cell < 0 || distance[cell] == UNREACHABLE) {
+            return -1;
+        }
+        return distance[cell] / STRAIGHT_COST;
+    }
+
+    private boolean isWalkable(int cx, int cy) {
+        return cx >= 0 && cy >= 0 && cx < columns && cy < rows && !blocked[cy * columns + cx];
+    }
+
+    private boolean cutsCorner(int cx, int cy, int nx, int ny) {
+        return !isWalkable(nx, cy) || !isWalkable(cx, ny);
+    }
+
+    private int cellAt(float x, float y) {
+        int cx = MathUtils.floor(x / cellWidth);
+        int cy = MathUtils.floor(y / cellHeight);
+        if (cx < 0 || cy < 0 || cx >= columns || cy >= rows) {
+            return -1;
+        }
+        return cy * columns + cx;
+    }
+
+    private void push(int cell, int cost) {
+        int i = heapSize++;
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (heapCost[parent] <= cost) {
+                break;
+            }
+            heap[i] = heap[parent];
+            heapCost[i] = heapCost[parent];
+            i = parent;
+        }
+        heap[i] = cell;
+        heapCost[i] = cost;
+    }
+
+    private int pop() {
+        int top = heap[0];
+        int last = heap[--heapSize];
+        int lastCost = heapCost[heapSize];
+        int i = 0;
+        while (true) {
+            int child = i * 2 + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && heapCost[child + 1] < heapCost[child]) {
+                child++;
+            }
+            if (heapCost[child] >= lastCost) {
+                break;
+            }
+            heap[i] = heap[child];
+            heapCost[i] = heapCost[child];
+            i = child;
+        }
+        heap[i] = last;
+        heapCost[i] = lastCost;
+        return top;
+    }
+}
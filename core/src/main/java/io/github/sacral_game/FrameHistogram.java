@@ -0,0 +1,75 @@
+package io.github.sacral_game;
+
+/**
+ * Fixed-memory histogram of durations in microseconds, laid out like HdrHistogram: values below 128 are exact, and
+ * every further power of two is split into 64 linear buckets, so any recorded value is kept to within 1/64 (about
+ * 1.6%). Values up to {@link #MAX_VALUE} (about 16 s) fit; larger ones are clamped to it. Recording never allocates.
+ */
+public class FrameHistogram {
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT / 2;
+    private static final int BUCKET_COUNT = 17;
+    public static final long MAX_VALUE = ((long) SUB_BUCKET_COUNT << BUCKET_COUNT) - 1;
+
+    private final long[] counts = new long[SUB_BUCKET_COUNT + BUCKET_COUNT * SUB_BUCKET_HALF];
+    private long totalCount;
+    private long max;
+    private double sum;
+
+    public void record(long micros) {
+        long value = Math.max(0, Math.min(micros, MAX_VALUE));
+        counts[indexOf(value)]++;
+        totalCount++;
+        max = Math.max(max, value);
+        sum += value;
+    }
+
+    private static int indexOf(long value) {
+        // Номер степени двойки сверх первых 128 значений; внутри неё шаг 2^bucket
+        int bucket = Math.max(0, 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+        int subBucket = (int) (value >>> bucket);
+        if (bucket == 0) {
+            return subBucket;
+        }
+        return SUB_BUCKET_COUNT + (bucket - 1) * SUB_BUCKET_HALF + subBucket - SUB_BUCKET_HALF;
+    }
+
+    // Наибольшее значение, попадающее в ячейку
+    private static long highestValueAt(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int bucket = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF + 1;
+        int subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF + SUB_BUCKET_HALF;
+        return ((long) (subBucket + 1) << bucket) - 1;
+    }
+
+    /** Smallest recorded value that {@code percentile} (0-100) of the values do not exceed, within the precision. */
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestValueAt(i), max);
+            }
+        }
+        return max;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return totalCount == 0 ? 0 : sum / totalCount;
+    }
+}
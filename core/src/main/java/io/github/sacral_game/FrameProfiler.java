@@ -0,0 +1,186 @@
+package io.github.sacral_game;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+/**
+ * CPU time of the game's phases per frame, a short history of frame times, render-thread allocation and GC pauses.
+ * It allocates nothing once constructed; while disabled every call returns straight away. Frames and phases are also
+ * emitted as {@link GameEvents} while a flight recording is running, whether or not the profiler is enabled.
+ */
+public class FrameProfiler {
+    public static final int PLAYER = 0;
+    public static final int ENEMY_AI = 1;
+    public static final int SPAWN = 2;
+    public static final int DRAW_LIST = 3;
+    public static final int MAP_RENDER = 4;
+    public static final int BATCH_DRAW = 5;
+    public static final int HUD = 6;
+    public static final int PHASE_COUNT = 7;
+
+    static final String[] PHASE_NAMES = {
+        "player", "enemy AI", "spawn", "draw list", "map render", "batch draw", "hud"
+    };
+
+    /** Frames kept for the frame-time graph. */
+    public static final int HISTORY = 120;
+
+    private boolean enabled;
+
+    private final long[] phaseStart = new long[PHASE_COUNT];
+    private final long[] phaseNanos = new long[PHASE_COUNT];
+    private final long[] lastPhaseNanos = new long[PHASE_COUNT];
+    private final GameEvents.FramePhase[] phaseEvents = new GameEvents.FramePhase[PHASE_COUNT];
+    private GameEvents.Frame frameEvent;
+
+    private final float[] frameTimes = new float[HISTORY];
+    private int frameIndex;
+    private long frameStart;
+    private long lastFrameCpuNanos;
+    private float lastFrameTime;
+
+    // Аллокации считаются только для потока рендера; null, если JVM их не считает
+    private final com.sun.management.ThreadMXBean threadBean;
+    private final GarbageCollectorMXBean[] collectors;
+    private long allocatedAtFrameStart;
+    private long lastAllocatedBytes = -1;
+    private long gcMillisAtFrameStart;
+    private long lastGcMillis;
+    private long totalGcMillis;
+
+    private int drawCalls;
+    private int textureBindings;
+
+    public FrameProfiler() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean sunBean && sunBean.isThreadAllocatedMemorySupported()) {
+            sunBean.setThreadAllocatedMemoryEnabled(true);
+            threadBean = sunBean;
+        } else {
+            threadBean = null;
+        }
+        List<GarbageCollectorMXBean> beans = ManagementFactory.getGarbageCollectorMXBeans();
+        collectors = beans.toArray(new GarbageCollectorMXBean[0]);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void beginFrame() {
+        if (GameEvents.enabled(GameEvents.FRAME)) {
+            frameEvent = new GameEvents.Frame();
+            frameEvent.begin();
+        }
+        if (!enabled) return;
+        frameStart = System.nanoTime();
+        if (threadBean != null) {
+            allocatedAtFrameStart = threadBean.getCurrentThreadAllocatedBytes();
+        }
+        gcMillisAtFrameStart = gcMillis();
+    }
+
+    public void begin(int phase) {
+        if (GameEvents.enabled(GameEvents.FRAME_PHASE)) {
+            phaseEvents[phase] = new GameEvents.FramePhase();
+            phaseEvents[phase].begin();
+        }
+        if (!enabled) return;
+        phaseStart[phase] = System.nanoTime();
+    }
+
+    /** Adds the time since {@link #begin}; a phase run by several ticks in one frame is summed. */
+    public void end(int phase) {
+        GameEvents.FramePhase event = phaseEvents[phase];
+        if (event != null) {
+            phaseEvents[phase] = null;
+            event.phase = PHASE_NAMES[phase];
+            event.commit();
+        }
+        if (!enabled) return;
+        phaseNanos[phase] += System.nanoTime() - phaseStart[phase];
+    }
+
+    /** Closes the frame; {@code delta} is the frame time the game was given. */
+    public void endFrame(float delta) {
+        if (frameEvent != null) {
+            frameEvent.frameTime = delta * 1000;
+            frameEvent.commit();
+            frameEvent = null;
+        }
+        if (!enabled) return;
+        lastFrameCpuNanos = System.nanoTime() - frameStart;
+        lastFrameTime = delta;
+        frameTimes[frameIndex] = delta;
+        frameIndex = (frameIndex + 1) % HISTORY;
+
+        System.arraycopy(phaseNanos, 0, lastPhaseNanos, 0, PHASE_COUNT);
+        for (int i = 0; i < PHASE_COUNT; i++) {
+            phaseNanos[i] = 0;
+        }
+
+        if (threadBean != null) {
+            lastAllocatedBytes = threadBean.getCurrentThreadAllocatedBytes() - allocatedAtFrameStart;
+        }
+        lastGcMillis = gcMillis() - gcMillisAtFrameStart;
+        totalGcMillis += lastGcMillis;
+    }
+
+    private long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            total += Math.max(0, collector.getCollectionTime());
+        }
+        return total;
+    }
+
+    public void setRenderCounters(int drawCalls, int textureBindings) {
+        this.drawCalls = drawCalls;
+        this.textureBindings = textureBindings;
+    }
+
+    public long getPhaseNanos(int phase) {
+        return lastPhaseNanos[phase];
+    }
+
+    public long getFrameCpuNanos() {
+        return lastFrameCpuNanos;
+    }
+
+    public float getFrameTime() {
+        return lastFrameTime;
+    }
+
+    /** Frame time {@code age} frames ago, 0 being the last frame. */
+    public float getFrameTime(int age) {
+        return frameTimes[Math.floorMod(frameIndex - 1 - age, HISTORY)];
+    }
+
+    /** Bytes the render thread allocated in the last frame, or -1 where the JVM does not count them. */
+    public long getAllocatedBytes() {
+        return lastAllocatedBytes;
+    }
+
+    /** Time the collectors reported as spent in the last frame; with concurrent collectors this is not all pause. */
+    public long getGcMillis() {
+        return lastGcMillis;
+    }
+
+    public long getTotalGcMillis() {
+        return totalGcMillis;
+    }
+
+    public int getDrawCalls() {
+        return drawCalls;
+    }
+
+    public int getTextureBindings() {
+        return textureBindings;
+    }
+}
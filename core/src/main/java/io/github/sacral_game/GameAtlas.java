@@ -0,0 +1,47 @@
+package io.github.sacral_game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Character and zombie sprite sheets packed into one atlas at build time by the {@code packTextures} Gradle task, so a
+ * frame of sprites draws from a single texture. Reference-counted, like {@link EnemyAnimations}.
+ */
+public class GameAtlas {
+    private static final String ATLAS_PATH = "../assets/atlas/sprites.atlas";
+
+    private static TextureAtlas shared;
+    private static int references;
+
+    public static TextureAtlas obtain() {
+        if (shared == null) {
+            if (!Gdx.files.internal(ATLAS_PATH).exists()) {
+                throw new GdxRuntimeException("Texture atlas not found: " + ATLAS_PATH + ", run ./gradlew packTextures");
+            }
+            shared = new TextureAtlas(Gdx.files.internal(ATLAS_PATH));
+        }
+        references++;
+        return shared;
+    }
+
+    public static void release() {
+        if (references == 0) {
+            return;
+        }
+        references--;
+        if (references == 0) {
+            shared.dispose();
+            shared = null;
+        }
+    }
+
+    /** Region of a packed sheet, named by its path under assets without the extension, e.g. {@code zombie/Walk}. */
+    public static TextureAtlas.AtlasRegion findRegion(TextureAtlas atlas, String name) {
+        TextureAtlas.AtlasRegion region = atlas.findRegion(name);
+        if (region == null) {
+            throw new GdxRuntimeException("Region not found in " + ATLAS_PATH + ": " + name);
+        }
+        return region;
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.sacral_game;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder events of the game's hot spots, shown under "Sacral" in JMC. Callers check {@link #enabled}
+ * before creating an event, so with no recording running an instrumented path costs a field read and allocates
+ * nothing.
+ */
+final class GameEvents {
+    static final EventType SPAWN_ENEMY = EventType.getEventType(SpawnEnemy.class);
+    static final EventType FIND_DIRECTION = EventType.getEventType(FindDirection.class);
+    static final EventType WAVE_SPAWN = EventType.getEventType(WaveSpawn.class);
+    static final EventType FRAME_PHASE = EventType.getEventType(FramePhase.class);
+    static final EventType FRAME = EventType.getEventType(Frame.class);
+
+    private GameEvents() {
+    }
+
+    static boolean enabled(EventType type) {
+        return type.isEnabled();
+    }
+
+    @Name("sacral.SpawnEnemy")
+    @Label("Spawn Enemy")
+    @Description("Search for a free spot around the camera for one enemy")
+    @Category({"Sacral", "Spawning"})
+    @StackTrace(false)
+    static final class SpawnEnemy extends Event {
+        @Label("Attempts")
+        int attempts;
+
+        @Label("Success")
+        boolean success;
+    }
+
+    @Name("sacral.FindDirection")
+    @Label("Find Best Direction")
+    @Description("Ray search for an enemy whose straight path to the target is blocked")
+    @Category({"Sacral", "Enemy AI"})
+    @StackTrace(false)
+    static final class FindDirection extends Event {
+        @Label("Enemy Slot")
+        int enemy;
+
+        @Label("Rays Evaluated")
+        int rays;
+
+        @Label("Blocked Rays")
+        int blocked;
+    }
+
+    @Name("sacral.WaveSpawn")
+    @Label("Wave Spawn")
+    @Description("Replacement enemies requested for the enemies that finished dying, and the spawn queue drain of one tick")
+    @Category({"Sacral", "Spawning"})
+    @StackTrace(false)
+    static final class WaveSpawn extends Event {
+        @Label("Enemies Killed")
+        int killed;
+
+        @Label("Enemies Requested")
+        int requested;
+
+        @Label("Enemies Spawned")
+        int spawned;
+
+        @Label("Pending Spawns")
+        int pending;
+
+        @Label("Live Enemies")
+        int liveEnemies;
+    }
+
+    @Name("sacral.FramePhase")
+    @Label("Frame Phase")
+    @Description("One FrameProfiler phase; several per frame when the frame runs several ticks")
+    @Category({"Sacral", "Frame"})
+    @StackTrace(false)
+    static final class FramePhase extends Event {
+        @Label("Phase")
+        String phase;
+    }
+
+    @Name("sacral.Frame")
+    @Label("Frame")
+    @Category({"Sacral", "Frame"})
+    @StackTrace(false)
+    static final class Frame extends Event {
+        @Label("Frame Time (ms)")
+        float frameTime;
+    }
+}
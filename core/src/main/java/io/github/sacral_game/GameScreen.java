@@ -4,23 +4,19 @@ import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.*;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
 import com.badlogic.gdx.maps.MapLayer;
-import com.badlogic.gdx.maps.MapObject;
 import com.badlogic.gdx.maps.MapObjects;
-import com.badlogic.gdx.maps.objects.RectangleMapObject;
 import com.badlogic.gdx.maps.tiled.TiledMap;
-import com.badlogic.gdx.maps.tiled.TiledMapTile;
 import com.badlogic.gdx.maps.tiled.TmxMapLoader;
-import com.badlogic.gdx.maps.tiled.objects.TiledMapTileMapObject;
 import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
-import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
@@ -28,170 +24,73 @@ import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Iterator;
-
 public class GameScreen implements Screen {
     private OrthographicCamera camera;
-    private final Vector2 cameraTarget = new Vector2();
+    private float accumulator;
+    private float renderAlpha;
     private Viewport viewport;
     private SpriteBatch batch;
     private ShapeRenderer shapeRenderer;
-    private Player player;
-    private ArrayList<Enemy> enemies;
-    private boolean isGameOver = false;
+    private final AttackShape debugAttackShape = new AttackShape();
+    private Hud hud;
+    private World world;
+    private PlayerAnimations playerAnimations;
+    private EnemyAnimations enemyAnimations;
+    private final Vector2 playerDrawPosition = new Vector2();
     private Game game;
     private Stage gameOverStage;
     private BitmapFont font;
-    private int score = 0;
 
     private TiledMap map;
     private OrthogonalTiledMapRenderer mapRenderer;
-    private MapObjects collisionObjects;
-    private MapObjects noCollisionObjects1;
-    private MapObjects noCollisionObjects2;
-    private int tileWidth;
-    private int tileHeight;
-
-    private int enemyGenerationCount = 0;
-    private int baseEnemySpawnCount = 2;
-    private float enemySpawnMultiplier = 1.1f;
+    private PropLayer propLayer;
 
     private static final float VIEWPORT_WIDTH = 640;
     private static final float VIEWPORT_HEIGHT = 360;
     private static final boolean DEBUG_MODE = false;
-
-    private ArrayList<DrawableObject> drawableObjects;
+    private static final int[] BACKGROUND_LAYERS = {0};
+    // Виден пакету: бенчмарк отрисовки собирает PropLayer из тех же слоёв
+    static final String[] PROP_LAYERS = {"Collision_1", "No_Collision_1", "No_Collision_2"};
+    private static final float CULL_MARGIN = 32f;
+    // Столько слотов врагов выделяется заранее, чтобы волны появления не вызывали рост массивов
+    private static final int ENEMY_CAPACITY = 1024;
+    private static final float TICK_RATE = World.DEFAULT_TICK_RATE;
+    private static final int MAX_TICKS_PER_FRAME = 5;
+    private static final AttackShape.Type[] ATTACK_TYPES = AttackShape.Type.values();
+
+    private final RenderQueue renderQueue = new RenderQueue();
+    private GLProfiler glProfiler;
+    private float profilerLogTimer;
+    private final FrameProfiler frameProfiler = new FrameProfiler();
+    private final PerfReport perfReport = new PerfReport();
+    private PerfOverlay perfOverlay;
+    private boolean showPerfOverlay;
 
     public GameScreen(Game game) {
         this.game = game;
         initializeBaseComponents();
         loadMap();
-        createPlayer();
-        drawableObjects = new ArrayList<>();
-        enemies = new ArrayList<>();
+        world = new World(map, viewport.getWorldWidth(), viewport.getWorldHeight(), ENEMY_CAPACITY);
+        world.setTickRate(TICK_RATE);
+        // Профайлер работает всю сессию ради отчёта; F3 лишь показывает оверлей
+        frameProfiler.setEnabled(true);
+        world.setProfiler(frameProfiler);
+        // Живых врагов не больше, чем заранее выделенных слотов; остальные ждут в очереди появления
+        world.getSpawnQueue().setMaxLiveEnemies(world.getEnemies().getCapacity());
 
         gameOverStage = new Stage(viewport);
         font = new BitmapFont();
         font.getData().setScale(2);
 
-        updateCameraInstantly();
-        spawnEnemy();
-        spawnEnemy();
-        spawnEnemy();
-    }
-
-    private Enemy spawnNewEnemy() {
-        float leftBound = camera.position.x - viewport.getWorldWidth() / 2;
-        float rightBound = camera.position.x + viewport.getWorldWidth() / 2;
-        float bottomBound = camera.position.y - viewport.getWorldHeight() / 2;
-        float topBound = camera.position.y + viewport.getWorldHeight() / 2;
-        float spawnMargin = 40f;
-
-        float collisionCheckSize = 48f;
-
-        float x, y;
-        boolean validPosition;
-        int attempts = 0;
-
-        do {
-            validPosition = true;
-            int side = MathUtils.random(3);
-
-            y = switch (side) {
-                case 0 -> {
-                    x = MathUtils.random(leftBound - spawnMargin, rightBound + spawnMargin);
-                    yield topBound + spawnMargin;
-                }
-                case 1 -> {
-                    x = rightBound + spawnMargin;
-                    yield MathUtils.random(bottomBound - spawnMargin, topBound + spawnMargin);
-                }
-                case 2 -> {
-                    x = MathUtils.random(leftBound - spawnMargin, rightBound + spawnMargin);
-                    yield bottomBound - spawnMargin;
-                }
-                default -> {
-                    x = leftBound - spawnMargin;
-                    yield MathUtils.random(bottomBound - spawnMargin, topBound + spawnMargin);
-                }
-            };
-
-            Rectangle spawnRect = new Rectangle(
-                x - collisionCheckSize/2,
-                y - collisionCheckSize/2,
-                collisionCheckSize,
-                collisionCheckSize
-            );
-
-            for (MapObject object : collisionObjects) {
-                if (object instanceof RectangleMapObject) {
-                    Rectangle rect = ((RectangleMapObject) object).getRectangle();
-                    Rectangle expandedRect = new Rectangle(
-                        rect.x - 5,
-                        rect.y - 5,
-                        rect.width + 10,
-                        rect.height + 10
-                    );
-                    if (expandedRect.overlaps(spawnRect)) {
-                        validPosition = false;
-                        break;
-                    }
-                }
-            }
-
-            if (!validPosition) {
-                attempts++;
-                continue;
-            }
-
-            for (Enemy enemy : enemies) {
-                Rectangle enemyRect = new Rectangle(
-                    enemy.getPosition().x - 25f,
-                    enemy.getPosition().y - 25f,
-                    50f,
-                    50f
-                );
-                if (spawnRect.overlaps(enemyRect)) {
-                    validPosition = false;
-                    break;
-                }
-            }
-
-            Rectangle playerRect = new Rectangle(
-                player.getPosition().x - 100f,
-                player.getPosition().y - 100f,
-                200f,
-                200f
-            );
-            if (spawnRect.overlaps(playerRect)) {
-                validPosition = false;
-            }
-
-            attempts++;
-        } while (!validPosition && attempts < 20);
-
-        if (validPosition) {
-            return new Enemy(x, y);
-        } else {
-            System.out.println("Unable to spawn enemy after 20 attempts");
-            return null;
-        }
-    }
-
-    private void spawnEnemy() {
-        Enemy enemy = spawnNewEnemy();
-        if (enemy != null) {
-            enemies.add(enemy);
-        }
-    }
-
-    private int calculateNewEnemyCount() {
-        return Math.round(baseEnemySpawnCount * (float)Math.pow(enemySpawnMultiplier, enemyGenerationCount));
+        applyCamera(1);
+        world.spawnEnemy();
+        world.spawnEnemy();
+        world.spawnEnemy();
     }
 
     private void initializeBaseComponents() {
@@ -199,132 +98,95 @@ public class GameScreen implements Screen {
         viewport = new FitViewport(VIEWPORT_WIDTH, VIEWPORT_HEIGHT, camera);
         batch = new SpriteBatch();
         shapeRenderer = new ShapeRenderer();
+        hud = new Hud();
+        perfOverlay = new PerfOverlay(hud.getFont(), hud.getWhitePixel());
+        playerAnimations = new PlayerAnimations();
+        enemyAnimations = EnemyAnimations.obtain();
+
+        glProfiler = new GLProfiler(Gdx.graphics);
+        if (DEBUG_MODE) {
+            glProfiler.enable();
+        }
     }
 
     private void loadMap() {
         map = new TmxMapLoader().load("../assets/Test_Map.tmx");
         mapRenderer = new OrthogonalTiledMapRenderer(map);
 
-        tileWidth = map.getProperties().get("tilewidth", Integer.class);
-        tileHeight = map.getProperties().get("tileheight", Integer.class);
-
-        MapLayer collisionLayer = map.getLayers().get("Collision_1");
-        if (collisionLayer != null) {
-            collisionObjects = collisionLayer.getObjects();
-        } else {
-            Gdx.app.error("GameScreen", "Collision layer not found");
-        }
-
-
-        MapLayer noCollisionLayer1 = map.getLayers().get("No_Collision_1");
-        if (noCollisionLayer1 != null) {
-            noCollisionObjects1 = noCollisionLayer1.getObjects();
-        }
-
-        MapLayer noCollisionLayer2 = map.getLayers().get("No_Collision_2");
-        if (noCollisionLayer2 != null) {
-            noCollisionObjects2 = noCollisionLayer2.getObjects();
+        // Пропсы всех трёх слоёв, включая коллизионный, сортируются для отрисовки
+        Array<MapObjects> propLayers = new Array<>();
+        for (String layerName : PROP_LAYERS) {
+            MapLayer layer = map.getLayers().get(layerName);
+            if (layer != null) {
+                propLayers.add(layer.getObjects());
+            }
         }
-    }
-
-    private void createPlayer() {
-        float tileSize = 32;
-        float startX = 1400;
-        float startY = 1400;
-        player = new Player(startX, startY, 200f, tileSize);
+        propLayer = new PropLayer(propLayers);
     }
 
     private void drawHUD() {
-        shapeRenderer.setProjectionMatrix(viewport.getCamera().combined);
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-
-        float barWidth = 100;
-        float barHeight = 10;
-        float barX = camera.position.x - viewport.getWorldWidth() / 2 + 10;
-        float barY = camera.position.y + viewport.getWorldHeight() / 2 - 20;
-
-        shapeRenderer.setColor(Color.RED);
-        shapeRenderer.rect(barX, barY, barWidth, barHeight);
-        shapeRenderer.setColor(Color.GREEN);
-        shapeRenderer.rect(barX, barY, barWidth * player.getHealthPercent(), barHeight);
-        shapeRenderer.end();
-
-        batch.setProjectionMatrix(viewport.getCamera().combined);
-        batch.begin();
-        FreeTypeFontGenerator generator = new FreeTypeFontGenerator(Gdx.files.internal("../assets/font.ttf"));
-        FreeTypeFontGenerator.FreeTypeFontParameter parameter = new FreeTypeFontGenerator.FreeTypeFontParameter();
-        parameter.size = 18;
-        parameter.characters = FreeTypeFontGenerator.DEFAULT_CHARS + "абвгдеёжзийклмнопрстуфхцчшщъыьэюяАБВГДЕЁЖЗИЙКЛМНОПРСТУФХЦЧШЩЪЫЬЭЮЯ";
-        font = generator.generateFont(parameter);
-        font.getData().setScale(1f);
-        font.draw(batch, "Счёт: " + score, camera.position.x + viewport.getWorldWidth() / 2 - 120, camera.position.y + viewport.getWorldHeight() / 2 - 10);
-        batch.end();
-
+        frameProfiler.begin(FrameProfiler.HUD);
+        hud.draw(batch, camera, viewport, world.getPlayer().getHealthPercent(), world.getScore());
+        frameProfiler.end(FrameProfiler.HUD);
     }
 
-    private void update(float delta) {
-        player.update(delta, map, collisionObjects);
-
-        if (player.isDead() && player.isDeathAnimationFinished()) {
-            isGameOver = true;
-            return;
-        }
+    // Q переключает удар: прямоугольник перед игроком, круг вокруг него, конус по направлению взгляда
+    private void cycleAttackType() {
+        Player player = world.getPlayer();
+        int next = (player.getAttackType().ordinal() + 1) % ATTACK_TYPES.length;
+        player.setAttackType(ATTACK_TYPES[next]);
+    }
 
-        ArrayList<Enemy> newEnemies = new ArrayList<>();
-
-        for (Iterator<Enemy> iterator = enemies.iterator(); iterator.hasNext();) {
-            Enemy enemy = iterator.next();
-            enemy.update(delta, player, collisionObjects, enemies);
-
-            if (enemy.isDead() && enemy.isDeathAnimationComplete()) {
-                iterator.remove();
-                score += 100;
-                int newEnemyCount = calculateNewEnemyCount();
-                for (int i = 0; i < newEnemyCount; i++) {
-                    Enemy newEnemy = spawnNewEnemy();
-                    if (newEnemy != null) {
-                        newEnemies.add(newEnemy);
-                    }
-                }
-                enemyGenerationCount++;
-            }
+    private void togglePerfOverlay() {
+        showPerfOverlay = !showPerfOverlay;
+        world.getAiLod().setTimingEnabled(showPerfOverlay);
+        if (showPerfOverlay) {
+            glProfiler.enable();
+        } else if (!DEBUG_MODE) {
+            glProfiler.disable();
         }
-
-        enemies.addAll(newEnemies);
-        updateCamera();
     }
 
-    private void updateCamera() {
-        float lerpSpeed = 0.05f;
-        cameraTarget.set(player.getPosition());
-        camera.position.x = camera.position.x + (cameraTarget.x - camera.position.x) * lerpSpeed;
-        camera.position.y = camera.position.y + (cameraTarget.y - camera.position.y + 25) * lerpSpeed;
-
+    private void applyCamera(float alpha) {
+        camera.position.x = world.getCameraX(alpha);
+        camera.position.y = world.getCameraY(alpha);
         camera.update();
     }
 
-    private void updateCameraInstantly() {
-        cameraTarget.set(player.getPosition());
-        camera.position.x = cameraTarget.x;
-        camera.position.y = cameraTarget.y + 25;
-        camera.update();
+    // Нажатия фиксируются раз в кадр и ждут ближайшего тика симуляции
+    private void pollInput() {
+        Player player = world.getPlayer();
+        if (Gdx.input.isKeyJustPressed(Input.Keys.W)) player.pressMoveKey(Input.Keys.W);
+        if (Gdx.input.isKeyJustPressed(Input.Keys.S)) player.pressMoveKey(Input.Keys.S);
+        if (Gdx.input.isKeyJustPressed(Input.Keys.A)) player.pressMoveKey(Input.Keys.A);
+        if (Gdx.input.isKeyJustPressed(Input.Keys.D)) player.pressMoveKey(Input.Keys.D);
+        if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE)) player.requestAttack();
+        if (Gdx.input.isKeyJustPressed(Input.Keys.Q)) cycleAttackType();
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F3)) togglePerfOverlay();
+        player.setHeldKeys(Gdx.input.isKeyPressed(Input.Keys.W), Gdx.input.isKeyPressed(Input.Keys.S),
+            Gdx.input.isKeyPressed(Input.Keys.A), Gdx.input.isKeyPressed(Input.Keys.D));
     }
 
-    private void draw(float delta) {
+    /** Draws the world between the previous and the current tick; {@code alpha} is in [0, 1]. */
+    private void draw(float alpha) {
         clearScreen();
         viewport.apply();
 
+        frameProfiler.begin(FrameProfiler.MAP_RENDER);
         mapRenderer.setView(camera);
-        mapRenderer.render(new int[]{0}); // Отрисовка слоя фона карты
-        prepareDrawableObjects();
+        mapRenderer.render(BACKGROUND_LAYERS); // Отрисовка слоя фона карты
+        frameProfiler.end(FrameProfiler.MAP_RENDER);
 
+        frameProfiler.begin(FrameProfiler.DRAW_LIST);
+        prepareDrawableObjects(alpha);
+        frameProfiler.end(FrameProfiler.DRAW_LIST);
+
+        frameProfiler.begin(FrameProfiler.BATCH_DRAW);
         batch.setProjectionMatrix(camera.combined);
         batch.begin();
-        for (DrawableObject obj : drawableObjects) {
-            obj.sprite.setFlip(obj.flipX, false);
-            obj.sprite.draw(batch);
-        }
+        renderQueue.draw(batch, propLayer);
         batch.end();
+        frameProfiler.end(FrameProfiler.BATCH_DRAW);
 
         if (DEBUG_MODE) {
             drawDebug();
@@ -336,84 +198,28 @@ public class GameScreen implements Screen {
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
     }
 
-    private void prepareDrawableObjects() {
-        drawableObjects.clear();
+    private void prepareDrawableObjects(float alpha) {
+        renderQueue.clear();
+        renderQueue.setView(camera, CULL_MARGIN);
 
-        for (MapObject object : collisionObjects) {
-            if (object instanceof TiledMapTileMapObject tileObject) {
-                addTileObjectToDrawable(tileObject);
-            }
-        }
+        playerAnimations.queueDraw(world.getPlayer(), renderQueue, alpha, playerDrawPosition);
+        Enemy.queueDraw(world.getEnemies(), enemyAnimations, renderQueue, alpha);
 
-        if (noCollisionObjects1 != null) {
-            for (MapObject object : noCollisionObjects1) {
-                if (object instanceof TiledMapTileMapObject tileObject) {
-                    addTileObjectToDrawable(tileObject);
-                }
-            }
-        }
-
-        // Добавляем объекты без коллизии со второго слоя
-        if (noCollisionObjects2 != null) {
-            for (MapObject object : noCollisionObjects2) {
-                if (object instanceof TiledMapTileMapObject tileObject) {
-                    addTileObjectToDrawable(tileObject);
-                }
-            }
-        }
-
-        Sprite playerSprite = player.getSprite();
-        drawableObjects.add(new DrawableObject(
-            playerSprite,
-            player.getPosition().y
-        ));
-
-        for (Enemy enemy : enemies) {
-            TextureRegion currentFrame = enemy.getCurrentFrame();
-            Sprite enemySprite = new Sprite(currentFrame);
-            enemySprite.setPosition(enemy.getPosition().x, enemy.getPosition().y);
-            enemySprite.setSize(40f, 40f);
-
-            DrawableObject enemyDrawable = new DrawableObject(
-                enemySprite,
-                enemy.getPosition().y
-            );
-            drawableObjects.add(enemyDrawable);
-        }
-
-        Collections.sort(drawableObjects);
-    }
-
-    private void drawObjects() {
-        batch.setProjectionMatrix(camera.combined);
-        batch.begin();
-        for (DrawableObject obj : drawableObjects) {
-            obj.sprite.setFlip(obj.flipX, false);
-            obj.sprite.draw(batch);
-        }
-        batch.end();
-    }
-
-    private void addTileObjectToDrawable(TiledMapTileMapObject tileObject) {
-        TiledMapTile tile = tileObject.getTile();
-        if (tile != null && tile.getTextureRegion() != null) {
-            Sprite sprite = new Sprite(tile.getTextureRegion());
-            sprite.setPosition(tileObject.getX(), tileObject.getY());
-            drawableObjects.add(new DrawableObject(sprite, tileObject.getY()));
-        }
+        renderQueue.sort();
     }
 
     private void drawDebug() {
+        Player player = world.getPlayer();
+        EnemyStore enemies = world.getEnemies();
+        CollisionGrid collisionGrid = world.getCollisionGrid();
         shapeRenderer.setProjectionMatrix(camera.combined);
         shapeRenderer.begin(ShapeRenderer.ShapeType.Line);
 
         shapeRenderer.setColor(1, 0, 0, 1);
-        for (MapObject object : collisionObjects) {
-            if (object instanceof TiledMapTileMapObject tileObject) {
-                TiledMapTile tile = tileObject.getTile();
-                Rectangle collisionRect = getTileCollisionRectangle(tile, tileObject.getX(), tileObject.getY());
-                shapeRenderer.rect(collisionRect.x, collisionRect.y, collisionRect.width, collisionRect.height);
-            }
+        Rectangle collisionRect = new Rectangle();
+        for (int i = 0; i < collisionGrid.size(); i++) {
+            collisionGrid.getRectangle(i, collisionRect);
+            shapeRenderer.rect(collisionRect.x, collisionRect.y, collisionRect.width, collisionRect.height);
         }
 
         shapeRenderer.setColor(0, 1, 0, 1);
@@ -422,52 +228,89 @@ public class GameScreen implements Screen {
 
         shapeRenderer.setColor(1, 0, 1, 1); // Фиолетовый цвет
         if (player.isAttacking()) { // Проверяем, атакует ли игрок
-            Rectangle attackRect = player.getAttackRect();
-            shapeRenderer.rect(attackRect.x, attackRect.y, attackRect.width, attackRect.height);
+            AttackShape shape = player.getAttackShape(debugAttackShape);
+            switch (shape.getType()) {
+                case RECT -> shapeRenderer.rect(shape.getX(), shape.getY(), shape.getWidth(), shape.getHeight());
+                case RADIUS -> shapeRenderer.circle(shape.getX(), shape.getY(), shape.getRadius());
+                case CONE -> shapeRenderer.arc(shape.getX(), shape.getY(), shape.getRadius(),
+                    shape.getDirectionAngle() - shape.getHalfAngle(), shape.getHalfAngle() * 2);
+            }
         }
 
         shapeRenderer.setColor(1, 1, 0, 1);
-        for (Enemy enemy : enemies) {
-            Rectangle enemyRect = enemy.getCollisionRect();
+        Rectangle enemyRect = new Rectangle();
+        for (int i = 0; i < enemies.size(); i++) {
+            enemies.getCollisionRect(i, enemyRect);
             shapeRenderer.rect(enemyRect.x, enemyRect.y, enemyRect.width, enemyRect.height);
         }
 
         shapeRenderer.end();
     }
 
-    private Rectangle getTileCollisionRectangle(TiledMapTile tile, float x, float y) {
-        if (tile != null) {
-            MapObjects objects = tile.getObjects();
-            for (MapObject object : objects) {
-                if (object instanceof RectangleMapObject) {
-                    Rectangle rect = ((RectangleMapObject) object).getRectangle();
-                    return new Rectangle(x + rect.x, y + rect.y, rect.width, rect.height);
-                }
-            }
-        }
-        return new Rectangle(x, y, tileWidth, tileHeight);
-    }
-
     @Override
     public void render(float delta) {
-        if (isGameOver) {
+        if (world.isGameOver()) {
             showGameOverScreen();
             return;
         }
 
-        if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE)) {
-            player.attack(enemies);
+        if (glProfiler.isEnabled()) {
+            glProfiler.reset();
+        }
+        pollInput();
+        frameProfiler.beginFrame();
+        accumulator += delta;
+        int ticks = 0;
+        float tickDuration = world.getTickDuration();
+        while (accumulator >= tickDuration && ticks < MAX_TICKS_PER_FRAME && !world.isGameOver()) {
+            world.tick(tickDuration);
+            accumulator -= tickDuration;
+            ticks++;
+        }
+        // После долгой заминки недоигранные тики отбрасываются, чтобы не догонять их следующими кадрами
+        if (accumulator >= tickDuration) {
+            accumulator %= tickDuration;
         }
 
-        update(delta);
-        draw(delta);
+        renderAlpha = accumulator / tickDuration;
+        applyCamera(renderAlpha);
+        draw(renderAlpha);
         drawHUD();
+
+        if (DEBUG_MODE) {
+            logRenderStats(delta);
+        }
+        // Счётчики снимаются до оверлея, чтобы его собственная отрисовка в них не попала
+        if (showPerfOverlay) {
+            frameProfiler.setRenderCounters(glProfiler.getDrawCalls(), glProfiler.getTextureBindings());
+        }
+        frameProfiler.endFrame(delta);
+        perfReport.record(frameProfiler, world.getEnemies().size());
+        if (showPerfOverlay) {
+            perfOverlay.draw(batch, frameProfiler, world);
+        }
+    }
+
+    // Счётчики последнего кадра выводятся раз в секунду
+    private void logRenderStats(float delta) {
+        profilerLogTimer += delta;
+        if (profilerLogTimer >= 1f) {
+            profilerLogTimer = 0;
+            Gdx.app.log("GLProfiler", "draw calls: " + glProfiler.getDrawCalls()
+                + ", texture bindings: " + glProfiler.getTextureBindings()
+                + ", shader switches: " + glProfiler.getShaderSwitches()
+                + ", vertices: " + (int) glProfiler.getVertexCount().total);
+            EnemyStore enemies = world.getEnemies();
+            Gdx.app.log("EnemyStore", "live: " + enemies.size() + ", peak: " + enemies.getPeakSize()
+                + ", slot hits: " + enemies.getSlotHits() + ", misses: " + enemies.getSlotMisses());
+        }
     }
 
     private void showGameOverScreen() {
-        draw(Gdx.graphics.getDeltaTime());
+        draw(renderAlpha);
 
         if (gameOverStage.getActors().size == 0) {
+            writePerfReport();
             Viewport viewport = new FitViewport(1280, 720);
             gameOverStage.setViewport(viewport);
             viewport.update(Gdx.graphics.getWidth(), Gdx.graphics.getHeight(), true);
@@ -554,31 +397,38 @@ public class GameScreen implements Screen {
     public void dispose() {
         batch.dispose();
         shapeRenderer.dispose();
+        hud.dispose();
         map.dispose();
         mapRenderer.dispose();
-        player.dispose();
+        propLayer.dispose();
+        playerAnimations.dispose();
+        EnemyAnimations.release();
+        world.dispose();
         gameOverStage.dispose();
         font.dispose();
+        glProfiler.disable();
     }
 
-    private static class DrawableObject implements Comparable<DrawableObject> {
-        Sprite sprite;
-        float y;
-        boolean flipX;
-
-        DrawableObject(Sprite sprite, float y) {
-            this.sprite = sprite;
-            this.y = y;
+    // Отчёт пишется один раз: при проигрыше или когда экран закрывают, в том числе при выходе из игры
+    private void writePerfReport() {
+        try {
+            FileHandle file = perfReport.write();
+            if (file != null) {
+                Gdx.app.log("PerfReport", "Written to " + file.path());
+            }
+        } catch (GdxRuntimeException e) {
+            Gdx.app.error("PerfReport", "Unable to write the performance report", e);
         }
+    }
 
-        @Override
-        public int compareTo(DrawableObject other) {
-            return Float.compare(other.y, this.y);
-        }
+    // Game.setScreen только скрывает экран; ресурсы освобождаются после текущего кадра, который ещё рисует сцену
+    @Override
+    public void hide() {
+        writePerfReport();
+        Gdx.app.postRunnable(this::dispose);
     }
 
     @Override public void show() {}
-    @Override public void hide() {}
     @Override public void pause() {}
     @Override public void resume() {}
 }
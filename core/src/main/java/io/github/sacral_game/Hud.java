@@ -0,0 +1,91 @@
+package io.github.sacral_game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+/**
+ * Health bar and score drawn in a single {@link SpriteBatch} pass. The font is rasterised once, into the same page as
+ * a white pixel used for the bar, and the score layout is only rebuilt when the score changes.
+ */
+public class Hud {
+    private static final String CYRILLIC_CHARS = "абвгдеёжзийклмнопрстуфхцчшщъыьэюяАБВГДЕЁЖЗИЙКЛМНОПРСТУФХЦЧШЩЪЫЬЭЮЯ";
+
+    private static final float BAR_WIDTH = 100;
+    private static final float BAR_HEIGHT = 10;
+
+    private final PixmapPacker packer;
+    private final BitmapFont font;
+    private final TextureRegion whitePixel;
+    private final GlyphLayout scoreLayout = new GlyphLayout();
+    private final StringBuilder scoreText = new StringBuilder();
+    private int shownScore = -1;
+
+    public Hud() {
+        packer = new PixmapPacker(512, 512, Pixmap.Format.RGBA8888, 1, false);
+        Pixmap white = new Pixmap(3, 3, Pixmap.Format.RGBA8888);
+        white.setColor(Color.WHITE);
+        white.fill();
+        packer.pack("white", white);
+        white.dispose();
+
+        FreeTypeFontGenerator generator = new FreeTypeFontGenerator(Gdx.files.internal("../assets/font.ttf"));
+        FreeTypeFontGenerator.FreeTypeFontParameter parameter = new FreeTypeFontGenerator.FreeTypeFontParameter();
+        parameter.size = 18;
+        parameter.characters = FreeTypeFontGenerator.DEFAULT_CHARS + CYRILLIC_CHARS;
+        parameter.packer = packer;
+        font = generator.generateFont(parameter);
+        font.setOwnsTexture(true);
+        generator.dispose();
+
+        // Берётся центр квадрата 3x3, чтобы фильтрация не подмешивала соседние пиксели страницы
+        Rectangle rect = packer.getRect("white");
+        whitePixel = new TextureRegion(font.getRegions().get(packer.getPageIndex("white")).getTexture(),
+            (int) rect.x + 1, (int) rect.y + 1, 1, 1);
+    }
+
+    public void draw(SpriteBatch batch, OrthographicCamera camera, Viewport viewport, float healthPercent, int score) {
+        if (score != shownScore) {
+            shownScore = score;
+            scoreText.setLength(0);
+            scoreText.append("Счёт: ").append(score);
+            scoreLayout.setText(font, scoreText);
+        }
+
+        float left = camera.position.x - viewport.getWorldWidth() / 2;
+        float right = camera.position.x + viewport.getWorldWidth() / 2;
+        float top = camera.position.y + viewport.getWorldHeight() / 2;
+
+        batch.setProjectionMatrix(camera.combined);
+        batch.begin();
+        batch.setColor(Color.RED);
+        batch.draw(whitePixel, left + 10, top - 20, BAR_WIDTH, BAR_HEIGHT);
+        batch.setColor(Color.GREEN);
+        batch.draw(whitePixel, left + 10, top - 20, BAR_WIDTH * healthPercent, BAR_HEIGHT);
+        batch.setColor(Color.WHITE);
+        font.draw(batch, scoreLayout, right - 120, top - 10);
+        batch.end();
+    }
+
+    BitmapFont getFont() {
+        return font;
+    }
+
+    TextureRegion getWhitePixel() {
+        return whitePixel;
+    }
+
+    public void dispose() {
+        font.dispose();
+        packer.dispose();
+    }
+}
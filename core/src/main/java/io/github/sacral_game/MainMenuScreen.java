@@ -126,8 +126,13 @@ public class MainMenuScreen implements Screen {
         backgroundTexture.dispose();
     }
 
+    // Game.setScreen только скрывает экран; ресурсы освобождаются после текущего кадра
+    @Override
+    public void hide() {
+        Gdx.app.postRunnable(this::dispose);
+    }
+
     @Override public void show() {}
-    @Override public void hide() {}
     @Override public void pause() {}
     @Override public void resume() {}
 }
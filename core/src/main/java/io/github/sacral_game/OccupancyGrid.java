@@ -0,0 +1,136 @@
+package io.github.sacral_game;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+
+/**
+ * Bitmap of sub-tile cells where a square probe of a fixed size, anchored at its bottom-left corner, may touch a
+ * static collision rectangle. Rays are walked cell by cell (Amanatides-Woo); only the samples that fall into occupied
+ * cells are checked exactly against the {@link CollisionGrid}, so the answers match stepping the probe along the ray.
+ */
+public class OccupancyGrid {
+    private final CollisionGrid collisionGrid;
+    private final float cellSize;
+    private final float probeSize;
+    private final float originX;
+    private final float originY;
+    private final int columns;
+    private final int rows;
+    private final long[] bits;
+
+    public OccupancyGrid(CollisionGrid collisionGrid, float cellSize, float probeSize) {
+        this.collisionGrid = collisionGrid;
+        this.cellSize = cellSize;
+        this.probeSize = probeSize;
+
+        Rectangle rect = new Rectangle();
+        float minX = 0, minY = 0, maxX = cellSize, maxY = cellSize;
+        if (collisionGrid.size() > 0) {
+            minX = minY = Float.POSITIVE_INFINITY;
+            maxX = maxY = Float.NEGATIVE_INFINITY;
+            for (int i = 0; i < collisionGrid.size(); i++) {
+                collisionGrid.getRectangle(i, rect);
+                minX = Math.min(minX, rect.x - probeSize);
+                minY = Math.min(minY, rect.y - probeSize);
+                maxX = Math.max(maxX, rect.x + rect.width);
+                maxY = Math.max(maxY, rect.y + rect.height);
+            }
+        }
+        originX = MathUtils.floor(minX / cellSize) * cellSize;
+        originY = MathUtils.floor(minY / cellSize) * cellSize;
+        columns = (int) Math.ceil((maxX - originX) / cellSize) + 1;
+        rows = (int) Math.ceil((maxY - originY) / cellSize) + 1;
+        bits = new long[(columns * rows + 63) / 64];
+
+        // Клетка занята, если левый нижний угол пробы в ней может задеть прямоугольник коллизии
+        for (int i = 0; i < collisionGrid.size(); i++) {
+            collisionGrid.getRectangle(i, rect);
+            int x0 = cellX(rect.x - probeSize), x1 = cellX(rect.x + rect.width);
+            int y0 = cellY(rect.y - probeSize), y1 = cellY(rect.y + rect.height);
+            for (int cy = y0; cy <= y1; cy++) {
+                for (int cx = x0; cx <= x1; cx++) {
+                    int index = cy * columns + cx;
+                    bits[index >>> 6] |= 1L << index;
+                }
+            }
+        }
+    }
+
+    /**
+     * Equivalent to placing the probe at {@code start + dir * i * step} for {@code i} in {@code [0, distance / step)}
+     * and testing each placement against the collision grid.
+     */
+    public boolean isSweepBlocked(float startX, float startY, float endX, float endY, float step) {
+        float dx = endX - startX;
+        float dy = endY - startY;
+        float distance = (float) Math.sqrt(dx * dx + dy * dy);
+        if (distance == 0) {
+            return false;
+        }
+        float dirX = dx / distance;
+        float dirY = dy / distance;
+        int numSteps = (int) (distance / step);
+        if (numSteps == 0) {
+            return false;
+        }
+
+        float lastT = (numSteps - 1) * step;
+        int cx = cellX(startX);
+        int cy = cellY(startY);
+        int stepCx = dirX > 0 ? 1 : -1;
+        int stepCy = dirY > 0 ? 1 : -1;
+        float tDeltaX = dirX != 0 ? cellSize / Math.abs(dirX) : Float.POSITIVE_INFINITY;
+        float tDeltaY = dirY != 0 ? cellSize / Math.abs(dirY) : Float.POSITIVE_INFINITY;
+        float tNextX = dirX != 0 ? (originX + (cx + (dirX > 0 ? 1 : 0)) * cellSize - startX) / dirX : Float.POSITIVE_INFINITY;
+        float tNextY = dirY != 0 ? (originY + (cy + (dirY > 0 ? 1 : 0)) * cellSize - startY) / dirY : Float.POSITIVE_INFINITY;
+
+        float tEnter = 0;
+        int nextSample = 0;
+        while (true) {
+            float tExit = Math.min(tNextX, tNextY);
+            if (isOccupied(cx, cy)) {
+                // Соседние отсчёты тоже проверяются точно, чтобы погрешность float на границе клетки ничего не пропустила
+                int first = Math.max(nextSample, (int) (tEnter / step) - 1);
+                int last = Math.min(numSteps - 1, (int) (Math.min(tExit, lastT) / step) + 1);
+                for (int i = first; i <= last; i++) {
+                    float sampleX = startX + dirX * i * step;
+                    float sampleY = startY + dirY * i * step;
+                    if (collisionGrid.overlaps(sampleX, sampleY, probeSize, probeSize)) {
+                        return true;
+                    }
+                }
+                nextSample = Math.max(nextSample, last + 1);
+            }
+            if (tExit > lastT) {
+                return false;
+            }
+
+            if (tNextX < tNextY) {
+                cx += stepCx;
+                tEnter = tNextX;
+                tNextX += tDeltaX;
+            } else {
+                cy += stepCy;
+                tEnter = tNextY;
+                tNextY += tDeltaY;
+            }
+        }
+    }
+
+    private boolean isOccupied(int cx, int cy) {
+        if (cx < 0 || cy < 0 || cx >= columns || cy >= rows) {
+            return false;
+        }
+        int index = cy * columns + cx;
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    // Без ограничения по краям: клетки за пределами битовой карты считаются свободными
+    private int cellX(float x) {
+        return MathUtils.floor((x - originX) / cellSize);
+    }
+
+    private int cellY(float y) {
+        return MathUtils.floor((y - originY) / cellSize);
+    }
+}
@@ -0,0 +1,134 @@
+package io.github.sacral_game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.HdpiUtils;
+import com.badlogic.gdx.math.Matrix4;
+
+/**
+ * Draws a {@link FrameProfiler} in screen pixels over the game: a frame-time graph and a text block of phase timings
+ * and counters. It reuses the HUD font and white pixel, and rebuilds its text in place, so drawing allocates nothing.
+ */
+public class PerfOverlay {
+    private static final float MARGIN = 10;
+    private static final float BAR_WIDTH = 2;
+    // 4 пикселя на миллисекунду, столбцы обрезаются на 100 мс
+    private static final float PIXELS_PER_MS = 4;
+    private static final float MAX_BAR_MS = 100;
+    private static final float TARGET_MS = 1000f / 60;
+    private static final float PANEL_WIDTH = 330;
+    // Кадр, фазы, вызовы отрисовки, враги, уровни и поиски ИИ, очередь появления, аллокации и сборка мусора
+    private static final int TEXT_LINES = FrameProfiler.PHASE_COUNT + 8;
+
+    private static final Color PANEL = new Color(0, 0, 0, 0.6f);
+    private static final Color FAST = new Color(0.3f, 0.9f, 0.3f, 1);
+    private static final Color SLOW = new Color(0.95f, 0.8f, 0.2f, 1);
+    private static final Color JANK = new Color(0.95f, 0.25f, 0.2f, 1);
+
+    private final BitmapFont font;
+    private final TextureRegion whitePixel;
+    private final Matrix4 projection = new Matrix4();
+    private final StringBuilder text = new StringBuilder(512);
+
+    public PerfOverlay(BitmapFont font, TextureRegion whitePixel) {
+        this.font = font;
+        this.whitePixel = whitePixel;
+    }
+
+    public void draw(SpriteBatch batch, FrameProfiler profiler, World world) {
+        int width = Gdx.graphics.getWidth();
+        int height = Gdx.graphics.getHeight();
+        // Оверлей рисуется поверх всего окна, а не только области FitViewport
+        HdpiUtils.glViewport(0, 0, width, height);
+        projection.setToOrtho2D(0, 0, width, height);
+        buildText(profiler, world);
+
+        float graphHeight = MAX_BAR_MS * PIXELS_PER_MS;
+        float graphWidth = FrameProfiler.HISTORY * BAR_WIDTH;
+
+        batch.setProjectionMatrix(projection);
+        batch.begin();
+        batch.setColor(PANEL);
+        batch.draw(whitePixel, MARGIN, MARGIN, graphWidth, graphHeight);
+        float panelHeight = TEXT_LINES * font.getLineHeight() + 16;
+        batch.draw(whitePixel, MARGIN, height - MARGIN - panelHeight, PANEL_WIDTH, panelHeight);
+
+        for (int age = 0; age < FrameProfiler.HISTORY; age++) {
+            float ms = profiler.getFrameTime(age) * 1000;
+            batch.setColor(ms <= TARGET_MS + 0.5f ? FAST : ms <= TARGET_MS * 2 + 0.5f ? SLOW : JANK);
+            float x = MARGIN + graphWidth - (age + 1) * BAR_WIDTH;
+            batch.draw(whitePixel, x, MARGIN, BAR_WIDTH, Math.min(ms, MAX_BAR_MS) * PIXELS_PER_MS);
+        }
+        batch.setColor(Color.WHITE);
+        batch.draw(whitePixel, MARGIN, MARGIN + TARGET_MS * PIXELS_PER_MS, graphWidth, 1);
+
+        font.draw(batch, text, MARGIN + 8, height - MARGIN - 8);
+        batch.end();
+    }
+
+    private void buildText(FrameProfiler profiler, World world) {
+        text.setLength(0);
+        text.append("frame ");
+        appendMillis((long) (profiler.getFrameTime() * 1e9));
+        text.append(" ms, cpu ");
+        appendMillis(profiler.getFrameCpuNanos());
+        text.append(" ms\n");
+
+        for (int phase = 0; phase < FrameProfiler.PHASE_COUNT; phase++) {
+            text.append(FrameProfiler.PHASE_NAMES[phase]).append(' ');
+            appendMillis(profiler.getPhaseNanos(phase));
+            text.append(" ms\n");
+        }
+
+        text.append("draw calls ").append(profiler.getDrawCalls())
+            .append(", textures ").append(profiler.getTextureBindings()).append('\n');
+        text.append("enemies ").append(world.getEnemies().size()).append('\n');
+        AiLod aiLod = world.getAiLod();
+        text.append("AI");
+        for (int tier = 0; tier < AiLod.TIER_COUNT; tier++) {
+            text.append(tier == 0 ? " " : ", ").append(AiLod.TIER_NAMES[tier]).append(' ')
+                .append(aiLod.getCount(tier)).append(' ');
+            appendMillis(aiLod.getDecisionNanos(tier));
+            text.append(" ms");
+        }
+        text.append('\n');
+        AiScheduler scheduler = world.getAiScheduler();
+        text.append("AI searches ").append(scheduler.getLastGranted()).append('/').append(scheduler.getLastDue())
+            .append(" due, ");
+        appendMillis(scheduler.getLastSearchNanos());
+        text.append(" of ");
+        appendMillis(scheduler.getBudgetNanos());
+        text.append(" ms\n");
+        SpawnQueue spawnQueue = world.getSpawnQueue();
+        text.append("spawn queue ").append(spawnQueue.getPending()).append(", drain ");
+        appendMillis(spawnQueue.getLastDrainNanos());
+        text.append(" ms\n");
+
+        long bytes = profiler.getAllocatedBytes();
+        if (bytes >= 0) {
+            text.append("alloc ").append(bytes / 1024).append(" KB/frame");
+            if (profiler.getFrameTime() > 0) {
+                text.append(", ").append((long) (bytes / 1024 / profiler.getFrameTime())).append(" KB/s");
+            }
+            text.append('\n');
+        } else {
+            text.append("alloc n/a\n");
+        }
+        text.append("gc ").append(profiler.getGcMillis()).append(" ms/frame, ")
+            .append(profiler.getTotalGcMillis()).append(" ms total");
+    }
+
+    // Миллисекунды с двумя знаками без форматирования float, которое выделяет строки
+    private void appendMillis(long nanos) {
+        long hundredths = nanos / 10_000;
+        text.append(hundredths / 100).append('.');
+        long fraction = hundredths % 100;
+        if (fraction < 10) {
+            text.append('0');
+        }
+        text.append(fraction);
+    }
+}
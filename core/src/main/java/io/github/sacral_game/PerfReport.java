@@ -0,0 +1,125 @@
+package io.github.sacral_game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.JsonWriter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Properties;
+
+/**
+ * Frame and phase times of one {@link GameScreen} session, kept in {@link FrameHistogram}s, and written once as a
+ * JSON report under {@code perf-reports/} in the local data dir. Reports carry the build version, so runs of
+ * different builds can be compared.
+ */
+public class PerfReport {
+    private static final String DIRECTORY = "perf-reports/";
+    // Создаётся задачей generateBuildInfo модуля core
+    private static final String BUILD_INFO = "/sacral-build.properties";
+    private static final long FRAME_BUDGET_MICROS = 16_600;
+    private static final long SLOW_FRAME_MICROS = 33_000;
+    private static final double[] PERCENTILES = {50, 95, 99};
+    private static final String[] PERCENTILE_NAMES = {"p50", "p95", "p99"};
+
+    private final FrameHistogram frameTimes = new FrameHistogram();
+    private final FrameHistogram[] phaseTimes = new FrameHistogram[FrameProfiler.PHASE_COUNT];
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final long startNanos = System.nanoTime();
+    private long framesOverBudget;
+    private long slowFrames;
+    private int peakEnemies;
+    private boolean written;
+
+    public PerfReport() {
+        for (int i = 0; i < phaseTimes.length; i++) {
+            phaseTimes[i] = new FrameHistogram();
+        }
+    }
+
+    /** Records the frame the profiler has just closed. */
+    public void record(FrameProfiler profiler, int enemyCount) {
+        long frameMicros = (long) (profiler.getFrameTime() * 1_000_000);
+        frameTimes.record(frameMicros);
+        if (frameMicros > FRAME_BUDGET_MICROS) framesOverBudget++;
+        if (frameMicros > SLOW_FRAME_MICROS) slowFrames++;
+        for (int phase = 0; phase < phaseTimes.length; phase++) {
+            phaseTimes[phase].record(profiler.getPhaseNanos(phase) / 1000);
+        }
+        peakEnemies = Math.max(peakEnemies, enemyCount);
+    }
+
+    /** Version and commit of the build, e.g. {@code 1.0.0+1a2b3c4}; "dev" when run without the generated resource. */
+    private static String readBuild() {
+        try (InputStream in = PerfReport.class.getResourceAsStream(BUILD_INFO)) {
+            if (in == null) {
+                return "dev";
+            }
+            Properties properties = new Properties();
+            properties.load(in);
+            String version = properties.getProperty("version", "dev");
+            String commit = properties.getProperty("commit", "unknown");
+            return commit.equals("unknown") ? version : version + "+" + commit;
+        } catch (IOException e) {
+            return "dev";
+        }
+    }
+
+    /** Writes the report on the first call that has frames to report; returns the file, or null if nothing was written. */
+    public FileHandle write() {
+        if (written || frameTimes.getTotalCount() == 0) {
+            return null;
+        }
+        written = true;
+
+        StringWriter out = new StringWriter();
+        JsonWriter json = new JsonWriter(out);
+        json.setOutputType(JsonWriter.OutputType.json);
+        try {
+            json.object()
+                .set("build", readBuild())
+                .set("java", System.getProperty("java.version"))
+                .set("os", System.getProperty("os.name") + " " + System.getProperty("os.arch"))
+                .set("startedAt", startedAt.toString())
+                .set("durationSeconds", round((System.nanoTime() - startNanos) / 1e9))
+                .set("frames", frameTimes.getTotalCount())
+                .set("framesOver16_6ms", framesOverBudget)
+                .set("framesOver33ms", slowFrames)
+                .set("peakEnemies", peakEnemies);
+            writeTimes(json, "frameTimeMs", frameTimes);
+            json.object("phaseTimeMs");
+            for (int phase = 0; phase < phaseTimes.length; phase++) {
+                writeTimes(json, FrameProfiler.PHASE_NAMES[phase], phaseTimes[phase]);
+            }
+            json.pop();
+            json.pop();
+            json.close();
+        } catch (IOException e) {
+            // StringWriter не бросает IOException
+            throw new IllegalStateException(e);
+        }
+
+        String name = "session-" + startedAt.format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json";
+        FileHandle file = Gdx.files.local(DIRECTORY + name);
+        file.writeString(out.toString(), false, "UTF-8");
+        return file;
+    }
+
+    private static void writeTimes(JsonWriter json, String name, FrameHistogram histogram) throws IOException {
+        json.object(name);
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            json.set(PERCENTILE_NAMES[i], round(histogram.getValueAtPercentile(PERCENTILES[i]) / 1000.0));
+        }
+        json.set("max", round(histogram.getMax() / 1000.0));
+        json.set("mean", round(histogram.getMean() / 1000.0));
+        json.pop();
+    }
+
+    // Два знака после запятой достаточно для миллисекунд и секунд
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
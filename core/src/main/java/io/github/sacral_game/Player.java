@@ -1,24 +1,28 @@
 package io.github.sacral_game;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.Animation;
-import com.badlogic.gdx.graphics.g2d.Sprite;
-import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.maps.MapObject;
-import com.badlogic.gdx.maps.MapObjects;
-import com.badlogic.gdx.maps.objects.RectangleMapObject;
-import com.badlogic.gdx.maps.tiled.TiledMap;
-import com.badlogic.gdx.maps.tiled.TiledMapTile;
-import com.badlogic.gdx.maps.tiled.objects.TiledMapTileMapObject;
-import com.badlogic.gdx.math.Intersector;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.IntArray;
 
-import java.util.ArrayList;
-
+/**
+ * Player simulation state. It is GL-free: input arrives as intents from the screen and the sprite is picked by
+ * {@link PlayerAnimations}, so a {@link World} can run without a display.
+ */
 public class Player {
+    // Кадры всех анимаций 64x64, по 0.1 с; логике нужны только их размеры и длительности
+    static final float FRAME_SIZE = 64f;
+    static final float FRAME_DURATION = 0.1f;
+    static final int ATTACK_FRAMES = 7;
+    static final int DEATH_FRAMES = 8;
+
+    // Формы атаки: прямоугольник перед игроком, круг вокруг него и конус по направлению взгляда
+    private static final float MELEE_RANGE = 40f;
+    private static final float MELEE_WIDTH = 20f;
+    private static final float SPIN_RADIUS = 70f;
+    private static final float SWEEP_RADIUS = 60f;
+    private static final float SWEEP_HALF_ANGLE = 60f;
+
     private Vector2 position;
     private Rectangle collisionRect;
     private float tileSize;
@@ -33,30 +37,28 @@ public class Player {
     private boolean isDeathAnimationFinished = false;
     private boolean isDead = false;
 
-    private float attackRange = 50f; // Радиус атаки
     private int attackDamage = 30; // Урон от атаки
     private float attackCooldown = 0.5f; // Время перезарядки
     private float attackTimer = 0;
-
-    private Texture idleTextureUp, idleTextureDown, idleTextureLeft, idleTextureRight;
-    private Texture walkTextureUp, walkTextureDown, walkTextureLeft, walkTextureRight;
-    private Texture attackTextureUp, attackTextureDown, attackTextureLeft, attackTextureRight;
-    private Texture deathTexture;
-
-    private Animation<TextureRegion> idleAnimationUp, idleAnimationDown, idleAnimationLeft, idleAnimationRight;
-    private Animation<TextureRegion> walkAnimationUp, walkAnimationDown, walkAnimationLeft, walkAnimationRight;
-    private Animation<TextureRegion> attackAnimationUp, attackAnimationDown, attackAnimationLeft, attackAnimationRight;
-    private Animation<TextureRegion> deathAnimation;
+    private AttackShape.Type attackType = AttackShape.Type.RECT;
+    private final AttackShape attackShape = new AttackShape();
+    private final IntArray hitScratch = new IntArray();
 
     private float stateTime;
     private String currentState;
     private String currentDirection = "DOWN";
     private Vector2 lastPosition;
+    private final Vector2 previousPosition;
+    private int pressedMoveKey = -1;
+    private boolean heldUp, heldDown, heldLeft, heldRight;
+    private boolean attackRequested;
+    private boolean isImmortal;
     public boolean isAttacking;
 
     public Player(float x, float y, float speed, float tileSize) {
         position = new Vector2(x, y);
         lastPosition = new Vector2(x, y);
+        previousPosition = new Vector2(x, y);
         this.speed = speed;
         this.currentState = "IDLE";
         this.tileSize = tileSize;
@@ -64,63 +66,56 @@ public class Player {
         this.currentHealth = maxHealth;
 
         collisionRect = new Rectangle();
-        loadAnimations();
         updateCollisionRect();
     }
 
-    private Animation<TextureRegion> createAnimation(Texture texture, int frameCount) {
-        int frameWidth = texture.getWidth() / frameCount;
-        int frameHeight = texture.getHeight();
-        TextureRegion[][] tmp = TextureRegion.split(texture, frameWidth, frameHeight);
-
-        TextureRegion[] frames = new TextureRegion[frameCount];
-        for (int i = 0; i < frameCount; i++) {
-            frames[i] = tmp[0][i];
-        }
-        return new Animation<>(0.1f, frames);
+    /**
+     * Latches a movement key ({@code Input.Keys.W/S/A/D}) pressed since the previous frame. The simulation may run
+     * zero or several ticks per frame, so presses are kept until the next {@link #update} consumes them.
+     */
+    public void pressMoveKey(int key) {
+        pressedMoveKey = key;
     }
 
-    private void loadAnimations() {
-        idleTextureUp = new Texture("../assets/back_animations/spr_player_back_idle.png");
-        idleTextureDown = new Texture("../assets/front_animations/spr_player_front_idle.png");
-        idleTextureLeft = new Texture("../assets/side_animations/spr_player_left_idle.png");
-        idleTextureRight = new Texture("../assets/side_animations/spr_player_right_idle.png");
-
-        walkTextureUp = new Texture("../assets/back_animations/spr_player_back_walk.png");
-        walkTextureDown = new Texture("../assets/front_animations/spr_player_front_walk.png");
-        walkTextureLeft = new Texture("../assets/side_animations/spr_player_left_walk.png");
-        walkTextureRight = new Texture("../assets/side_animations/spr_player_right_walk.png");
-
-        attackTextureUp = new Texture("../assets/back_animations/spr_player_back_attack.png");
-        attackTextureDown = new Texture("../assets/front_animations/spr_player_front_attack.png");
-        attackTextureLeft = new Texture("../assets/side_animations/spr_player_left_attack.png");
-        attackTextureRight = new Texture("../assets/side_animations/spr_player_right_attack.png");
-
-        deathTexture = new Texture("../assets/special_animations/spr_player_death.png");
+    /** Movement keys currently held down. */
+    public void setHeldKeys(boolean up, boolean down, boolean left, boolean right) {
+        heldUp = up;
+        heldDown = down;
+        heldLeft = left;
+        heldRight = right;
+    }
 
-        idleAnimationUp = createAnimation(idleTextureUp, 12);
-        idleAnimationDown = createAnimation(idleTextureDown, 12);
-        idleAnimationLeft = createAnimation(idleTextureLeft, 12);
-        idleAnimationRight = createAnimation(idleTextureRight, 12);
+    /** Latches an attack request until the next {@link #update}. */
+    public void requestAttack() {
+        attackRequested = true;
+    }
 
-        walkAnimationUp = createAnimation(walkTextureUp, 6);
-        walkAnimationDown = createAnimation(walkTextureDown, 6);
-        walkAnimationLeft = createAnimation(walkTextureLeft, 6);
-        walkAnimationRight = createAnimation(walkTextureRight, 6);
+    /** Ignores all damage; for simulations that must keep running, such as the headless stress test. */
+    public void setImmortal(boolean immortal) {
+        isImmortal = immortal;
+    }
 
-        attackAnimationUp = createAnimation(attackTextureUp, 7);
-        attackAnimationDown = createAnimation(attackTextureDown, 7);
-        attackAnimationLeft = createAnimation(attackTextureLeft, 7);
-        attackAnimationRight = createAnimation(attackTextureRight, 7);
+    private boolean isHeld(int key) {
+        switch (key) {
+            case Input.Keys.W: return heldUp;
+            case Input.Keys.S: return heldDown;
+            case Input.Keys.A: return heldLeft;
+            case Input.Keys.D: return heldRight;
+            default: return false;
+        }
+    }
 
-        deathAnimation = createAnimation(deathTexture, 8);
+    public boolean isAttackRequested() {
+        return attackRequested;
     }
 
-    public void update(float delta, TiledMap map, MapObjects collisionObjects) {
+    public void update(float delta, CollisionGrid collisionGrid) {
+        previousPosition.set(position);
         if (isDead) {
+            attackRequested = false;
             if (!isDeathAnimationFinished) {
                 stateTime += delta;
-                if (deathAnimation.isAnimationFinished(stateTime)) {
+                if (isAnimationFinished(DEATH_FRAMES)) {
                     isDeathAnimationFinished = true;
                 }
             }
@@ -141,9 +136,10 @@ public class Player {
         attackTimer += delta;
 
         handleInput(delta);
+        attackRequested = false;
         updateCollisionRect();
 
-        if (checkCollisions(collisionObjects)) {
+        if (checkCollisions(collisionGrid)) {
             position.set(lastPosition);
             updateCollisionRect();
         }
@@ -157,16 +153,16 @@ public class Player {
         }
 
         boolean isMoving = false;
-        if (Gdx.input.isKeyJustPressed(Input.Keys.W)) lastPressedKey = Input.Keys.W;
-        if (Gdx.input.isKeyJustPressed(Input.Keys.S)) lastPressedKey = Input.Keys.S;
-        if (Gdx.input.isKeyJustPressed(Input.Keys.A)) lastPressedKey = Input.Keys.A;
-        if (Gdx.input.isKeyJustPressed(Input.Keys.D)) lastPressedKey = Input.Keys.D;
+        if (pressedMoveKey != -1) {
+            lastPressedKey = pressedMoveKey;
+            pressedMoveKey = -1;
+        }
 
-        if (lastPressedKey != -1 && !Gdx.input.isKeyPressed(lastPressedKey)) {
+        if (lastPressedKey != -1 && !isHeld(lastPressedKey)) {
             lastPressedKey = -1;
         }
 
-        if (lastPressedKey != -1 && Gdx.input.isKeyPressed(lastPressedKey)) {
+        if (lastPressedKey != -1 && isHeld(lastPressedKey)) {
             switch (lastPressedKey) {
                 case Input.Keys.W:
                     position.y += speed * delta;
@@ -191,35 +187,35 @@ public class Player {
             }
         }
 
-        else if (Gdx.input.isKeyPressed(Input.Keys.W)) {
+        else if (isHeld(Input.Keys.W)) {
             position.y += speed * delta;
             isMoving = true;
             currentDirection = "UP";
         }
-        else if (Gdx.input.isKeyPressed(Input.Keys.S)) {
+        else if (isHeld(Input.Keys.S)) {
             position.y -= speed * delta;
             isMoving = true;
             currentDirection = "DOWN";
         }
-        else if (Gdx.input.isKeyPressed(Input.Keys.A)) {
+        else if (isHeld(Input.Keys.A)) {
             position.x -= speed * delta;
             isMoving = true;
             currentDirection = "LEFT";
         }
-        else if (Gdx.input.isKeyPressed(Input.Keys.D)) {
+        else if (isHeld(Input.Keys.D)) {
             position.x += speed * delta;
             isMoving = true;
             currentDirection = "RIGHT";
         }
 
         // Проверяем атаку
-        if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE) && !currentState.equals("ATTACK")) {
+        if (attackRequested && !currentState.equals("ATTACK")) {
             currentState = "ATTACK";
             stateTime = 0;
         }
 
         if (currentState.equals("ATTACK")) {
-            if (getAttackAnimation().isAnimationFinished(stateTime)) {
+            if (isAnimationFinished(ATTACK_FRAMES)) {
                 currentState = "IDLE";
             }
         } else {
@@ -227,81 +223,19 @@ public class Player {
         }
     }
 
-    private Animation<TextureRegion> getIdleAnimation() {
-        switch (currentDirection) {
-            case "UP": return idleAnimationUp;
-            case "DOWN": return idleAnimationDown;
-            case "LEFT": return idleAnimationLeft;
-            case "RIGHT": return idleAnimationRight;
-            default: return idleAnimationDown;
-        }
-    }
-
-    private Animation<TextureRegion> getWalkAnimation() {
-        switch (currentDirection) {
-            case "UP": return walkAnimationUp;
-            case "DOWN": return walkAnimationDown;
-            case "LEFT": return walkAnimationLeft;
-            case "RIGHT": return walkAnimationRight;
-            default: return walkAnimationDown;
-        }
+    // Та же проверка, что Animation.isAnimationFinished для анимации из frameCount кадров
+    private boolean isAnimationFinished(int frameCount) {
+        return (int) (stateTime / FRAME_DURATION) > frameCount - 1;
     }
 
-    private Animation<TextureRegion> getAttackAnimation() {
-        switch (currentDirection) {
-            case "UP": return attackAnimationUp;
-            case "DOWN": return attackAnimationDown;
-            case "LEFT": return attackAnimationLeft;
-            case "RIGHT": return attackAnimationRight;
-            default: return attackAnimationDown;
-        }
-    }
-
-    private TextureRegion getCurrentFrame() {
-        if (isDead) {
-            return deathAnimation.getKeyFrame(stateTime, false);
-        }
-
-        switch (currentState) {
-            case "WALK":
-                return getWalkAnimation().getKeyFrame(stateTime, true);
-            case "ATTACK":
-                return getAttackAnimation().getKeyFrame(stateTime, false);
-            default:
-                return getIdleAnimation().getKeyFrame(stateTime, true);
-        }
+    // checkCollisions и updateCollisionRect видны пакету для бенчмарков
+    boolean checkCollisions(CollisionGrid collisionGrid) {
+        return collisionGrid.overlaps(collisionRect);
     }
 
-    private boolean checkCollisions(MapObjects collisionObjects) {
-        for (MapObject object : collisionObjects) {
-            if (object instanceof TiledMapTileMapObject) {
-                TiledMapTileMapObject tileObject = (TiledMapTileMapObject) object;
-                TiledMapTile tile = tileObject.getTile();
-                Rectangle tileRect = getTileCollisionRectangle(tile, tileObject.getX(), tileObject.getY());
-                if (Intersector.overlaps(tileRect, collisionRect)) {
-                    return true;
-                }
-            }
-        }
-        return false;
-    }
-
-    private Rectangle getTileCollisionRectangle(TiledMapTile tile, float x, float y) {
-        MapObjects objects = tile.getObjects();
-        for (MapObject object : objects) {
-            if (object instanceof RectangleMapObject) {
-                Rectangle rect = ((RectangleMapObject) object).getRectangle();
-                return new Rectangle(x + rect.x, y + rect.y, rect.width, rect.height);
-            }
-        }
-        return new Rectangle(x, y, tile.getTextureRegion().getRegionWidth(),
-            tile.getTextureRegion().getRegionHeight());
-    }
-
-    private void updateCollisionRect() {
-        TextureRegion currentFrame = getCurrentFrame();
-        float width = currentFrame.getRegionWidth() * scale * 0.25f;  // Уменьшаем ширину коллизии
-        float height = currentFrame.getRegionHeight() * scale * 0.15f;
+    void updateCollisionRect() {
+        float width = FRAME_SIZE * scale * 0.25f;  // Уменьшаем ширину коллизии
+        float height = FRAME_SIZE * scale * 0.15f;
 
         collisionRect.set(
             position.x,
@@ -311,20 +245,26 @@ public class Player {
         );
     }
 
-    public Sprite getSprite() {
-        TextureRegion currentFrame = getCurrentFrame();
-        Sprite sprite = new Sprite(currentFrame);
+    /** Position between the previous and the current tick; {@code alpha} is in [0, 1]. */
+    public Vector2 getInterpolatedPosition(float alpha, Vector2 out) {
+        return out.set(previousPosition).lerp(position, alpha);
+    }
 
-        float width = currentFrame.getRegionWidth() * scale;
-        float height = currentFrame.getRegionHeight() * scale;
+    public float getStateTime() {
+        return stateTime;
+    }
 
-        sprite.setSize(width, height);
-        sprite.setOrigin(width / 2, 0);
-        sprite.setPosition(position.x - 37, position.y - 28);
+    public String getState() {
+        return currentState;
+    }
 
-        return sprite;
+    public String getDirection() {
+        return currentDirection;
     }
 
+    public float getScale() {
+        return scale;
+    }
 
     public Vector2 getPosition() {
         return position;
@@ -335,7 +275,7 @@ public class Player {
     }
 
     public void takeDamage(int damage) {
-        if (!isInvulnerable && !isDead) {
+        if (!isInvulnerable && !isDead && !isImmortal) {
             currentHealth -= damage;
             if (currentHealth <= 0) {
                 currentHealth = 0;
@@ -352,101 +292,63 @@ public class Player {
         currentHealth = 0;
     }
 
-    public void attack(ArrayList<Enemy> enemies) {
+    /**
+     * Damages the enemies inside the current {@link #getAttackShape attack shape}; candidates come from the grid, which
+     * must index every living enemy.
+     */
+    public void attack(EnemyStore enemies, EnemyGrid enemyGrid) {
         if (attackTimer < attackCooldown) {
             return;
         }
 
         attackTimer = 0;
         isAttacking = true;
+        getAttackShape(attackShape).hit(enemies, enemyGrid, attackDamage, hitScratch);
+    }
 
-        Rectangle attackRect = new Rectangle();
-        float attackRange = 40;
-        float attackWidth = 20;
+    /** Shape of the attack in the player's facing direction; the single hit-box definition for damage and debug. */
+    public AttackShape getAttackShape(AttackShape out) {
+        float centerX = collisionRect.x + collisionRect.width / 2;
+        float centerY = collisionRect.y + collisionRect.height / 2;
+        switch (attackType) {
+            case RADIUS:
+                return out.setRadius(centerX, centerY, SPIN_RADIUS);
+            case CONE:
+                return out.setCone(centerX, centerY, SWEEP_RADIUS, getFacingX(), getFacingY(), SWEEP_HALF_ANGLE);
+            default:
+                break;
+        }
 
         switch (currentDirection) {
             case "UP":
-                attackRect.set(
-                    position.x - attackWidth / 2 + 14,
-                    position.y + collisionRect.height, // Область атаки выше игрока
-                    attackWidth,
-                    attackRange
-                );
-                break;
-            case "DOWN":
-                attackRect.set(
-                    position.x - attackWidth / 2 + 14,
-                    position.y - attackRange, // Область атаки ниже игрока
-                    attackWidth,
-                    attackRange
-                );
-                break;
+                // Область атаки выше игрока
+                return out.setRect(position.x - MELEE_WIDTH / 2 + 14, position.y + collisionRect.height,
+                    MELEE_WIDTH, MELEE_RANGE);
             case "LEFT":
-                attackRect.set(
-                    position.x - attackRange, // Область атаки слева от игрока
-                    position.y,
-                    attackRange,
-                    attackWidth
-                );
-                break;
+                return out.setRect(position.x - MELEE_RANGE, position.y, MELEE_RANGE, MELEE_WIDTH);
             case "RIGHT":
-                attackRect.set(
-                    position.x + collisionRect.width, // Область атаки справа от игрока
-                    position.y,
-                    attackRange,
-                    attackWidth
-                );
-                break;
+                return out.setRect(position.x + collisionRect.width, position.y, MELEE_RANGE, MELEE_WIDTH);
+            default:
+                return out.setRect(position.x - MELEE_WIDTH / 2 + 14, position.y - MELEE_RANGE,
+                    MELEE_WIDTH, MELEE_RANGE);
         }
+    }
 
-        for (Enemy enemy : enemies) {
-            if (attackRect.overlaps(enemy.getCollisionRect())) {
-                enemy.takeDamage(attackDamage);
-            }
-        }
+    private float getFacingX() {
+        return currentDirection.equals("LEFT") ? -1 : currentDirection.equals("RIGHT") ? 1 : 0;
     }
 
-    public Rectangle getAttackRect() {
-        Rectangle attackRect = new Rectangle();
-        float attackRange = 30;
-        float attackWidth = 20;
+    private float getFacingY() {
+        return currentDirection.equals("UP") ? 1 : currentDirection.equals("DOWN") ? -1 : 0;
+    }
 
-        switch (currentDirection) {
-            case "UP":
-                attackRect.set(
-                    position.x - attackWidth / 2 + 14,
-                    position.y + collisionRect.height, // Область атаки выше игрока
-                    attackWidth,
-                    attackRange
-                );
-                break;
-            case "DOWN":
-                attackRect.set(
-                    position.x - attackWidth / 2 + 14,
-                    position.y - attackRange, // Область атаки ниже игрока
-                    attackWidth,
-                    attackRange
-                );
-                break;
-            case "LEFT":
-                attackRect.set(
-                    position.x - attackRange, // Область атаки слева от игрока
-                    position.y,
-                    attackRange,
-                    attackWidth
-                );
-                break;
-            case "RIGHT":
-                attackRect.set(
-                    position.x + collisionRect.width, // Область атаки справа от игрока
-                    position.y,
-                    attackRange,
-                    attackWidth
-                );
-                break;
-        }
+    public AttackShape.Type getAttackType() {
+        return attackType;
+    }
 
-        return attackRect;
+    /** Melee rectangle, a radius around the player or a cone sweep in front of them. */
+    public void setAttackType(AttackShape.Type attackType) {
+        this.attackType = attackType;
     }
 
     public void heal(int amount) {
@@ -478,25 +380,6 @@ public class Player {
         return isDeathAnimationFinished;
     }
 
-    public void dispose() {
-        idleTextureUp.dispose();
-        idleTextureDown.dispose();
-        idleTextureLeft.dispose();
-        idleTextureRight.dispose();
-
-        walkTextureUp.dispose();
-        walkTextureDown.dispose();
-        walkTextureLeft.dispose();
-        walkTextureRight.dispose();
-
-        attackTextureUp.dispose();
-        attackTextureDown.dispose();
-        attackTextureLeft.dispose();
-        attackTextureRight.dispose();
-
-        deathTexture.dispose();
-    }
-
     public boolean isAttacking() {
         return isAttacking;
     }
@@ -0,0 +1,113 @@
+package io.github.sacral_game;
+
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Vector2;
+
+/** Player animations cut from the {@link GameAtlas}; picks and queues the frame for a {@link Player}'s state. */
+public class PlayerAnimations {
+    private final Animation<TextureRegion> idleAnimationUp, idleAnimationDown, idleAnimationLeft, idleAnimationRight;
+    private final Animation<TextureRegion> walkAnimationUp, walkAnimationDown, walkAnimationLeft, walkAnimationRight;
+    private final Animation<TextureRegion> attackAnimationUp, attackAnimationDown, attackAnimationLeft, attackAnimationRight;
+    private final Animation<TextureRegion> deathAnimation;
+
+    public PlayerAnimations() {
+        TextureAtlas atlas = GameAtlas.obtain();
+
+        idleAnimationUp = createAnimation(GameAtlas.findRegion(atlas, "back_animations/spr_player_back_idle"), 12);
+        idleAnimationDown = createAnimation(GameAtlas.findRegion(atlas, "front_animations/spr_player_front_idle"), 12);
+        idleAnimationLeft = createAnimation(GameAtlas.findRegion(atlas, "side_animations/spr_player_left_idle"), 12);
+        idleAnimationRight = createAnimation(GameAtlas.findRegion(atlas, "side_animations/spr_player_right_idle"), 12);
+
+        walkAnimationUp = createAnimation(GameAtlas.findRegion(atlas, "back_animations/spr_player_back_walk"), 6);
+        walkAnimationDown = createAnimation(GameAtlas.findRegion(atlas, "front_animations/spr_player_front_walk"), 6);
+        walkAnimationLeft = createAnimation(GameAtlas.findRegion(atlas, "side_animations/spr_player_left_walk"), 6);
+        walkAnimationRight = createAnimation(GameAtlas.findRegion(atlas, "side_animations/spr_player_right_walk"), 6);
+
+        attackAnimationUp = createAnimation(GameAtlas.findRegion(atlas, "back_animations/spr_player_back_attack"),
+            Player.ATTACK_FRAMES);
+        attackAnimationDown = createAnimation(GameAtlas.findRegion(atlas, "front_animations/spr_player_front_attack"),
+            Player.ATTACK_FRAMES);
+        attackAnimationLeft = createAnimation(GameAtlas.findRegion(atlas, "side_animations/spr_player_left_attack"),
+            Player.ATTACK_FRAMES);
+        attackAnimationRight = createAnimation(GameAtlas.findRegion(atlas, "side_animations/spr_player_right_attack"),
+            Player.ATTACK_FRAMES);
+
+        deathAnimation = createAnimation(GameAtlas.findRegion(atlas, "special_animations/spr_player_death"),
+            Player.DEATH_FRAMES);
+    }
+
+    private static Animation<TextureRegion> createAnimation(TextureRegion sheet, int frameCount) {
+        int frameWidth = sheet.getRegionWidth() / frameCount;
+        int frameHeight = sheet.getRegionHeight();
+        TextureRegion[][] tmp = sheet.split(frameWidth, frameHeight);
+
+        TextureRegion[] frames = new TextureRegion[frameCount];
+        for (int i = 0; i < frameCount; i++) {
+            frames[i] = tmp[0][i];
+        }
+        return new Animation<>(Player.FRAME_DURATION, frames);
+    }
+
+    private Animation<TextureRegion> getIdleAnimation(String direction) {
+        switch (direction) {
+            case "UP": return idleAnimationUp;
+            case "DOWN": return idleAnimationDown;
+            case "LEFT": return idleAnimationLeft;
+            case "RIGHT": return idleAnimationRight;
+            default: return idleAnimationDown;
+        }
+    }
+
+    private Animation<TextureRegion> getWalkAnimation(String direction) {
+        switch (direction) {
+            case "UP": return walkAnimationUp;
+            case "DOWN": return walkAnimationDown;
+            case "LEFT": return walkAnimationLeft;
+            case "RIGHT": return walkAnimationRight;
+            default: return walkAnimationDown;
+        }
+    }
+
+    private Animation<TextureRegion> getAttackAnimation(String direction) {
+        switch (direction) {
+            case "UP": return attackAnimationUp;
+            case "DOWN": return attackAnimationDown;
+            case "LEFT": return attackAnimationLeft;
+            case "RIGHT": return attackAnimationRight;
+            default: return attackAnimationDown;
+        }
+    }
+
+    public TextureRegion getFrame(Player player) {
+        float stateTime = player.getStateTime();
+        if (player.isDead()) {
+            return deathAnimation.getKeyFrame(stateTime, false);
+        }
+
+        switch (player.getState()) {
+            case "WALK":
+                return getWalkAnimation(player.getDirection()).getKeyFrame(stateTime, true);
+            case "ATTACK":
+                return getAttackAnimation(player.getDirection()).getKeyFrame(stateTime, false);
+            default:
+                return getIdleAnimation(player.getDirection()).getKeyFrame(stateTime, true);
+        }
+    }
+
+    /** Queues the player between the previous and the current tick positions; {@code alpha} is in [0, 1]. */
+    public void queueDraw(Player player, RenderQueue renderQueue, float alpha, Vector2 scratch) {
+        TextureRegion currentFrame = getFrame(player);
+
+        float width = currentFrame.getRegionWidth() * player.getScale();
+        float height = currentFrame.getRegionHeight() * player.getScale();
+        Vector2 position = player.getInterpolatedPosition(alpha, scratch);
+
+        renderQueue.add(currentFrame, position.x - 37, position.y - 28, width, height, false, position.y);
+    }
+
+    public void dispose() {
+        GameAtlas.release();
+    }
+}
@@ -0,0 +1,203 @@
+package io.github.sacral_game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.MapObjects;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.objects.TiledMapTileMapObject;
+import com.badlogic.gdx.utils.Array;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Tile objects of the map's prop layers. They never move, so they are collected and sorted back to front once when
+ * the map is loaded; {@link RenderQueue} merges them with the sorted dynamic sprites each frame.
+ * <p>
+ * The sorted props are also uploaded once into a {@link SpriteCache}, one cache per horizontal band of
+ * {@link #BAND_HEIGHT}. A band that no dynamic sprite falls into is drawn with a single cache call; otherwise its props
+ * are merged one by one through the {@link SpriteBatch}, so the draw order stays exact.
+ */
+public class PropLayer {
+    private static final float BAND_HEIGHT = 64f;
+
+    private final TextureRegion[] regions;
+    private final float[] x;
+    private final float[] y;
+    private final float[] width;
+    private final float[] height;
+    private final int count;
+    private final float maxHeight;
+
+    private final SpriteCache cache;
+    private final int bandCount;
+    private final int[] bandStart;
+    private final int[] bandCacheId;
+    private final float[] bandMinY;
+    private final float[] bandMaxY;
+    private final float[] bandLeft;
+    private final float[] bandRight;
+    private final float[] bandUpper;
+
+    public PropLayer(Array<MapObjects> layers) {
+        Array<TiledMapTileMapObject> props = new Array<>();
+        for (MapObjects objects : layers) {
+            for (int i = 0, n = objects.getCount(); i < n; i++) {
+                if (objects.get(i) instanceof TiledMapTileMapObject tileObject) {
+                    TiledMapTile tile = tileObject.getTile();
+                    if (tile != null && tile.getTextureRegion() != null) {
+                        props.add(tileObject);
+                    }
+                }
+            }
+        }
+
+        // Устойчивая сортировка: при равном y порядок слоёв сохраняется, как и раньше
+        TiledMapTileMapObject[] sorted = props.toArray(TiledMapTileMapObject.class);
+        Arrays.sort(sorted, Comparator.comparingDouble((TiledMapTileMapObject prop) -> prop.getY()).reversed());
+
+        count = sorted.length;
+        regions = new TextureRegion[count];
+        x = new float[count];
+        y = new float[count];
+        width = new float[count];
+        height = new float[count];
+        float tallest = 0;
+        for (int i = 0; i < count; i++) {
+            TextureRegion region = sorted[i].getTile().getTextureRegion();
+            regions[i] = region;
+            x[i] = sorted[i].getX();
+            y[i] = sorted[i].getY();
+            width[i] = region.getRegionWidth();
+            height[i] = region.getRegionHeight();
+            tallest = Math.max(tallest, height[i]);
+        }
+        maxHeight = tallest;
+
+        // Полосы идут сверху вниз, как и пропсы; в каждой пропсы с y в (верх полосы - BAND_HEIGHT, верх полосы]
+        int bands = 0;
+        int[] starts = new int[count + 1];
+        for (int i = 0; i < count; i++) {
+            if (bands == 0 || y[i] <= y[starts[bands - 1]] - BAND_HEIGHT) {
+                starts[bands++] = i;
+            }
+        }
+        starts[bands] = count;
+        bandCount = bands;
+        bandStart = Arrays.copyOf(starts, bands + 1);
+        bandCacheId = new int[bands];
+        bandMinY = new float[bands];
+        bandMaxY = new float[bands];
+        bandLeft = new float[bands];
+        bandRight = new float[bands];
+        bandUpper = new float[bands];
+
+        cache = new SpriteCache(Math.max(1, count), false);
+        for (int b = 0; b < bands; b++) {
+            bandMaxY[b] = y[bandStart[b]];
+            bandMinY[b] = y[bandStart[b + 1] - 1];
+            bandLeft[b] = Float.POSITIVE_INFINITY;
+            bandRight[b] = Float.NEGATIVE_INFINITY;
+            bandUpper[b] = Float.NEGATIVE_INFINITY;
+            cache.beginCache();
+            for (int i = bandStart[b]; i < bandStart[b + 1]; i++) {
+                cache.add(regions[i], x[i], y[i], width[i], height[i]);
+                bandLeft[b] = Math.min(bandLeft[b], x[i]);
+                bandRight[b] = Math.max(bandRight[b], x[i] + width[i]);
+                bandUpper[b] = Math.max(bandUpper[b], y[i] + height[i]);
+            }
+            bandCacheId[b] = cache.endCache();
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public float getY(int index) {
+        return y[index];
+    }
+
+    /** Height of the tallest prop: anything with y below {@code bottom - getMaxHeight()} cannot reach the view. */
+    public float getMaxHeight() {
+        return maxHeight;
+    }
+
+    public int getBandCount() {
+        return bandCount;
+    }
+
+    /** First prop index of the band; the band ends where the next one starts. */
+    public int getBandStart(int band) {
+        return bandStart[band];
+    }
+
+    public int getBandEnd(int band) {
+        return bandStart[band + 1];
+    }
+
+    /** Lowest prop y in the band. */
+    public float getBandMinY(int band) {
+        return bandMinY[band];
+    }
+
+    /** Highest prop y in the band. */
+    public float getBandMaxY(int band) {
+        return bandMaxY[band];
+    }
+
+    /** Index of the first band, back to front, that has a prop whose bottom edge is below {@code top}. */
+    public int firstBandBelow(float top) {
+        int low = 0;
+        int high = bandCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (bandMinY[mid] >= top) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public boolean isBandVisible(int band, float left, float bottom, float right, float top) {
+        return bandLeft[band] < right && bandRight[band] > left && bandMinY[band] < top && bandUpper[band] > bottom;
+    }
+
+    public boolean isVisible(int index, float left, float bottom, float right, float top) {
+        return x[index] < right && x[index] + width[index] > left
+            && y[index] < top && y[index] + height[index] > bottom;
+    }
+
+    public void draw(SpriteBatch batch, int index) {
+        batch.draw(regions[index], x[index], y[index], width[index], height[index]);
+    }
+
+    /** Ends the batch and starts drawing cached bands with the batch's projection. */
+    public void beginCache(SpriteBatch batch) {
+        batch.end();
+        // В отличие от SpriteBatch, SpriteCache сам смешивание не включает
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        cache.setProjectionMatrix(batch.getProjectionMatrix());
+        cache.begin();
+    }
+
+    public void drawBand(int band) {
+        cache.draw(bandCacheId[band]);
+    }
+
+    public void endCache(SpriteBatch batch) {
+        cache.end();
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+        batch.begin();
+    }
+
+    public void dispose() {
+        cache.dispose();
+    }
+}
@@ -0,0 +1,223 @@
+package io.github.sacral_game;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
+
+import java.util.Arrays;
+
+/**
+ * Per-frame list of y-sorted draw commands for moving sprites. Commands come from a pool and are drawn straight from
+ * their {@link TextureRegion}, merged in linear time with the pre-sorted {@link PropLayer}, so once the pool and the
+ * sort buffers have grown a frame allocates nothing.
+ */
+public class RenderQueue {
+    private static final int INSERTION_SORT_THRESHOLD = 48;
+
+    private final Array<RenderCommand> commands = new Array<>(true, 256, RenderCommand.class);
+    private RenderCommand[] sortBuffer = new RenderCommand[256];
+    private final int[] radixCounts = new int[256];
+    private final Pool<RenderCommand> pool = new Pool<RenderCommand>(256) {
+        @Override
+        protected RenderCommand newObject() {
+            return new RenderCommand();
+        }
+    };
+
+    private float viewLeft = Float.NEGATIVE_INFINITY;
+    private float viewBottom = Float.NEGATIVE_INFINITY;
+    private float viewRight = Float.POSITIVE_INFINITY;
+    private float viewTop = Float.POSITIVE_INFINITY;
+    private int visibleProps;
+
+    /** Sprites and props entirely outside the camera view grown by {@code margin} are neither sorted nor drawn. */
+    public void setView(OrthographicCamera camera, float margin) {
+        float halfWidth = camera.viewportWidth * camera.zoom / 2;
+        float halfHeight = camera.viewportHeight * camera.zoom / 2;
+        viewLeft = camera.position.x - halfWidth - margin;
+        viewRight = camera.position.x + halfWidth + margin;
+        viewBottom = camera.position.y - halfHeight - margin;
+        viewTop = camera.position.y + halfHeight + margin;
+    }
+
+    public void clear() {
+        pool.freeAll(commands);
+        commands.clear();
+    }
+
+    public void add(TextureRegion region, float x, float y, float width, float height, boolean flipX, float sortKey) {
+        if (x >= viewRight || x + width <= viewLeft || y >= viewTop || y + height <= viewBottom) {
+            return;
+        }
+
+        RenderCommand command = pool.obtain();
+        command.region = region;
+        command.x = x;
+        command.y = y;
+        command.width = width;
+        command.height = height;
+        command.flipX = flipX;
+        command.sortKey = sortKey;
+        command.radixKey = descendingKey(sortKey);
+        commands.add(command);
+    }
+
+    /** Stable sort, back to front: insertion sort for a handful of sprites, LSD radix sort on the key bits above. */
+    public void sort() {
+        RenderCommand[] items = commands.items;
+        int n = commands.size;
+        if (n < INSERTION_SORT_THRESHOLD) {
+            for (int i = 1; i < n; i++) {
+                RenderCommand command = items[i];
+                int j = i - 1;
+                while (j >= 0 && items[j].sortKey < command.sortKey) {
+                    items[j + 1] = items[j];
+                    j--;
+                }
+                items[j + 1] = command;
+            }
+            return;
+        }
+
+        if (sortBuffer.length < n) {
+            sortBuffer = new RenderCommand[items.length];
+        }
+        RenderCommand[] from = items;
+        RenderCommand[] to = sortBuffer;
+        for (int shift = 0; shift < 32; shift += 8) {
+            Arrays.fill(radixCounts, 0);
+            for (int i = 0; i < n; i++) {
+                radixCounts[(from[i].radixKey >>> shift) & 0xFF]++;
+            }
+            // Все ключи совпадают в этом байте, проход ничего не изменит
+            if (radixCounts[(from[0].radixKey >>> shift) & 0xFF] == n) {
+                continue;
+            }
+            int offset = 0;
+            for (int b = 0; b < 256; b++) {
+                int bucketSize = radixCounts[b];
+                radixCounts[b] = offset;
+                offset += bucketSize;
+            }
+            for (int i = 0; i < n; i++) {
+                RenderCommand command = from[i];
+                to[radixCounts[(command.radixKey >>> shift) & 0xFF]++] = command;
+            }
+            RenderCommand[] swap = from;
+            from = to;
+            to = swap;
+        }
+        if (from != items) {
+            System.arraycopy(from, 0, items, 0, n);
+        }
+    }
+
+    // Порядок беззнаковых int совпадает с убывающим порядком float
+    private static int descendingKey(float value) {
+        int bits = Float.floatToIntBits(value);
+        int ascending = bits ^ ((bits >> 31) | 0x80000000);
+        return ~ascending;
+    }
+
+    /**
+     * Draws the visible props and the queued sprites back to front; on equal y props go first, as they are behind.
+     * Only the prop bands that can reach the view are visited. A band with no sprite between its props is drawn from
+     * the prop cache; consecutive cached bands share one switch away from the batch.
+     */
+    public void draw(SpriteBatch batch, PropLayer props) {
+        RenderCommand[] items = commands.items;
+        int n = commands.size;
+        int next = 0;
+        boolean caching = false;
+        float lowestY = viewBottom - props.getMaxHeight();
+
+        visibleProps = 0;
+        for (int band = props.firstBandBelow(viewTop); band < props.getBandCount(); band++) {
+            float bandTop = props.getBandMaxY(band);
+            if (bandTop <= lowestY) {
+                break;
+            }
+            if (!props.isBandVisible(band, viewLeft, viewBottom, viewRight, viewTop)) {
+                continue;
+            }
+
+            if (next < n && items[next].sortKey > bandTop) {
+                if (caching) {
+                    props.endCache(batch);
+                    caching = false;
+                }
+                while (next < n && items[next].sortKey > bandTop) {
+                    draw(batch, items[next++]);
+                }
+            }
+
+            if (next < n && items[next].sortKey > props.getBandMinY(band)) {
+                if (caching) {
+                    props.endCache(batch);
+                    caching = false;
+                }
+                // Спрайт внутри полосы: её пропсы сливаются с ним по одному через SpriteBatch
+                for (int prop = props.getBandStart(band), end = props.getBandEnd(band); prop < end; prop++) {
+                    while (next < n && items[next].sortKey > props.getY(prop)) {
+                        draw(batch, items[next++]);
+                    }
+                    drawProp(batch, props, prop);
+                }
+            } else {
+                if (!caching) {
+                    props.beginCache(batch);
+                    caching = true;
+                }
+                props.drawBand(band);
+                visibleProps += props.getBandEnd(band) - props.getBandStart(band);
+            }
+        }
+        if (caching) {
+            props.endCache(batch);
+        }
+        while (next < n) {
+            draw(batch, items[next++]);
+        }
+    }
+
+    private void drawProp(SpriteBatch batch, PropLayer props, int index) {
+        if (props.isVisible(index, viewLeft, viewBottom, viewRight, viewTop)) {
+            props.draw(batch, index);
+            visibleProps++;
+        }
+    }
+
+    public int getVisibleProps() {
+        return visibleProps;
+    }
+
+    private static void draw(SpriteBatch batch, RenderCommand command) {
+        if (command.flipX) {
+            batch.draw(command.region, command.x + command.width, command.y, -command.width, command.height);
+        } else {
+            batch.draw(command.region, command.x, command.y, command.width, command.height);
+        }
+    }
+
+    public int size() {
+        return commands.size;
+    }
+
+    static class RenderCommand implements Pool.Poolable {
+        TextureRegion region;
+        float x;
+        float y;
+        float width;
+        float height;
+        boolean flipX;
+        float sortKey;
+        int radixKey;
+
+        @Override
+        public void reset() {
+            region = null;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package io.github.sacral_game;
+
+/**
+ * Enemies waiting to appear. Kills request replacement waves here and {@link World} drains the queue once per tick
+ * under a time budget, so a large wave is spread over several ticks instead of freezing one. Spawns that would take
+ * the horde past the live enemy cap stay pending until enemies die.
+ */
+public class SpawnQueue {
+    /** Default drain budget per tick: 0.5 ms of the 16.7 ms frame. */
+    public static final long DEFAULT_BUDGET_NANOS = 500_000;
+    /**
+     * Most spawns the queue holds. Waves grow geometrically with the kill count while the cap keeps the horde small, so
+     * requests past this bound are dropped instead of overflowing the count.
+     */
+    public static final int MAX_PENDING = 1 << 20;
+
+    /** Places one enemy; returns false if no free spot was found. */
+    interface Placer {
+        boolean spawnOne();
+    }
+
+    private long budgetNanos = DEFAULT_BUDGET_NANOS;
+    private int maxLiveEnemies = Integer.MAX_VALUE;
+
+    private int pending;
+    private int peakPending;
+    private int lastSpawned;
+    private long lastDrainNanos;
+    private long maxDrainNanos;
+    private long totalSpawned;
+    private long failedSearches;
+
+    public void setBudgetNanos(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+    }
+
+    /** Live enemies beyond which queued spawns wait. */
+    public void setMaxLiveEnemies(int maxLiveEnemies) {
+        this.maxLiveEnemies = maxLiveEnemies;
+    }
+
+    public int getMaxLiveEnemies() {
+        return maxLiveEnemies;
+    }
+
+    public void request(long count) {
+        pending = (int) Math.min(MAX_PENDING, pending + Math.max(0, count));
+        peakPending = Math.max(peakPending, pending);
+    }
+
+    /**
+     * Places queued enemies until the queue is empty, the cap is reached or the budget is spent. At least one
+     * placement is tried per call, so a budget smaller than one search still makes progress. A failed search ends the
+     * drain: the ring around the camera is crowded, and the next tick tries again.
+     */
+    int drain(int liveEnemies, Placer placer) {
+        lastSpawned = 0;
+        lastDrainNanos = 0;
+        if (pending == 0 || liveEnemies >= maxLiveEnemies) {
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        long elapsed = 0;
+        while (pending > 0 && liveEnemies + lastSpawned < maxLiveEnemies && elapsed < budgetNanos) {
+            if (!placer.spawnOne()) {
+                failedSearches++;
+                break;
+            }
+            pending--;
+            lastSpawned++;
+            elapsed = System.nanoTime() - start;
+        }
+        lastDrainNanos = System.nanoTime() - start;
+        maxDrainNanos = Math.max(maxDrainNanos, lastDrainNanos);
+        totalSpawned += lastSpawned;
+        return lastSpawned;
+    }
+
+    /** Spawns requested but not placed yet, including those held back by the cap. */
+    public int getPending() {
+        return pending;
+    }
+
+    public int getPeakPending() {
+        return peakPending;
+    }
+
+    public int getLastSpawned() {
+        return lastSpawned;
+    }
+
+    /** Time the last drain took; 0 if it had nothing to do. */
+    public long getLastDrainNanos() {
+        return lastDrainNanos;
+    }
+
+    public long getMaxDrainNanos() {
+        return maxDrainNanos;
+    }
+
+    public long getTotalSpawned() {
+        return totalSpawned;
+    }
+
+    /** Drains cut short because no free spot was found. */
+    public long getFailedSearches() {
+        return failedSearches;
+    }
+}
@@ -0,0 +1,130 @@
+package io.github.sacral_game;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Spawn points on the ring just outside the camera view. The map is divided into {@link #CELL_SIZE} cells once at
+ * load, and a bitmap marks those whose spawn box is clear of the collision layer, tile objects included. Each tick the
+ * walkable cells of the ring are collected; a sample picks one at random and only checks it against the enemy grid
+ * and the player, so a spawn takes constant expected time however crowded the map is.
+ */
+public class SpawnSampler {
+    static final float CELL_SIZE = 16f;
+    // Враг появляется центром в квадрате 48x48, свободном от стен с запасом 5 пикселей и от других врагов
+    private static final float SPAWN_BOX = 48f;
+    private static final float WALL_CLEARANCE = 5f;
+    private static final float ENEMY_CLEARANCE = 49f;
+    private static final float PLAYER_CLEARANCE = 124f;
+    // Если кольцо целиком в стенах или за краем карты, оно отодвигается на клетку, не дальше этого числа раз
+    private static final int MAX_RING_STEPS = 8;
+
+    private final int columns;
+    private final int rows;
+    private final long[] walkable;
+    private final int walkableCount;
+    private final IntArray candidates = new IntArray(false, 256);
+    private int lastTries;
+
+    public SpawnSampler(CollisionGrid collisionGrid, float mapWidth, float mapHeight) {
+        columns = (int) Math.ceil(mapWidth / CELL_SIZE);
+        rows = (int) Math.ceil(mapHeight / CELL_SIZE);
+        walkable = new long[(columns * rows + 63) / 64];
+
+        float half = SPAWN_BOX / 2 + WALL_CLEARANCE;
+        int count = 0;
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                float x = (column + 0.5f) * CELL_SIZE;
+                float y = (row + 0.5f) * CELL_SIZE;
+                if (!collisionGrid.overlaps(x - half, y - half, half * 2, half * 2)) {
+                    int cell = row * columns + column;
+                    walkable[cell >>> 6] |= 1L << cell;
+                    count++;
+                }
+            }
+        }
+        walkableCount = count;
+    }
+
+    private boolean isWalkable(int column, int row) {
+        if (column < 0 || row < 0 || column >= columns || row >= rows) {
+            return false;
+        }
+        int cell = row * columns + column;
+        return (walkable[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    /**
+     * Collects the walkable cells on the rectangle {@code margin} outside the view centred on the given point. If it
+     * has none, the ring moves outward a cell at a time.
+     */
+    public void collectRing(float centerX, float centerY, float viewWidth, float viewHeight, float margin) {
+        candidates.clear();
+        for (int step = 0; step <= MAX_RING_STEPS && candidates.size == 0; step++) {
+            float distance = margin + step * CELL_SIZE;
+            int left = cell(centerX - viewWidth / 2 - distance);
+            int right = cell(centerX + viewWidth / 2 + distance);
+            int bottom = cell(centerY - viewHeight / 2 - distance);
+            int top = cell(centerY + viewHeight / 2 + distance);
+
+            for (int column = left; column <= right; column++) {
+                addIfWalkable(column, top);
+                addIfWalkable(column, bottom);
+            }
+            for (int row = bottom + 1; row < top; row++) {
+                addIfWalkable(left, row);
+                addIfWalkable(right, row);
+            }
+        }
+    }
+
+    private void addIfWalkable(int column, int row) {
+        if (isWalkable(column, row)) {
+            candidates.add(row * columns + column);
+        }
+    }
+
+    private static int cell(float coordinate) {
+        return MathUtils.floor(coordinate / CELL_SIZE);
+    }
+
+    /**
+     * Takes a random cell of the collected ring that no enemy or the player stands near. A taken or rejected cell
+     * leaves the ring until the next {@link #collectRing}, so enemies spawned in one tick never share a cell.
+     */
+    public boolean sample(EnemyGrid enemyGrid, Vector2 playerPosition, Vector2 out) {
+        lastTries = 0;
+        while (candidates.size > 0) {
+            int index = MathUtils.random(candidates.size - 1);
+            int cell = candidates.removeIndex(index);
+            lastTries++;
+
+            float x = (cell % columns + 0.5f) * CELL_SIZE;
+            float y = (cell / columns + 0.5f) * CELL_SIZE;
+            if (Math.abs(x - playerPosition.x) < PLAYER_CLEARANCE && Math.abs(y - playerPosition.y) < PLAYER_CLEARANCE) {
+                continue;
+            }
+            if (enemyGrid.containsAny(x - ENEMY_CLEARANCE, y - ENEMY_CLEARANCE, x + ENEMY_CLEARANCE, y + ENEMY_CLEARANCE)) {
+                continue;
+            }
+            out.set(x, y);
+            return true;
+        }
+        return false;
+    }
+
+    /** Cells looked at by the last {@link #sample}. */
+    public int getLastTries() {
+        return lastTries;
+    }
+
+    public int getCandidateCount() {
+        return candidates.size;
+    }
+
+    public int getWalkableCount() {
+        return walkableCount;
+    }
+}
@@ -0,0 +1,311 @@
+package io.github.sacral_game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapObjects;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * The game simulation: map collision, player, enemies, spawning and score, advanced in fixed ticks. It touches no GL
+ * state, so {@link GameScreen} only renders it and the headless module can run it without a display.
+ */
+public class World {
+    /** Ticks per second unless {@link #setTickRate} says otherwise. */
+    public static final float DEFAULT_TICK_RATE = 60f;
+
+    private static final boolean FLOW_FIELD_PATHFINDING = true;
+    // Камера проходит 5% оставшегося пути за 1/60 секунды при любом шаге тика
+    private static final double CAMERA_RETAIN = 0.95;
+    private static final float SPAWN_MARGIN = 40f;
+
+    private float tickRate = DEFAULT_TICK_RATE;
+    private final float viewWidth;
+    private final float viewHeight;
+
+    private final Player player;
+    private final EnemyStore enemies;
+    private final EnemyGrid enemyGrid;
+    private final CollisionGrid collisionGrid;
+    private final OccupancyGrid occupancyGrid;
+    private FlowField flowField;
+    private final SpawnSampler spawnSampler;
+    private final AiLod aiLod = new AiLod();
+    private final AiScheduler aiScheduler = new AiScheduler();
+    private final EnemyDecisionPhase decisionPhase = new EnemyDecisionPhase();
+    private final SpawnQueue spawnQueue = new SpawnQueue();
+    private final SpawnQueue.Placer queuedSpawn = this::spawnQueued;
+    private FrameProfiler profiler = new FrameProfiler();
+
+    private final Vector2 spawnPosition = new Vector2();
+    private final Vector2 cameraPrevious = new Vector2();
+    private final Vector2 cameraCurrent = new Vector2();
+
+    private boolean isGameOver = false;
+    private int score = 0;
+
+    private int enemyGenerationCount = 0;
+    private int baseEnemySpawnCount = 2;
+    private float enemySpawnMultiplier = 1.1f;
+
+    /**
+     * Builds the simulation for a loaded map. {@code viewWidth} and {@code viewHeight} are the camera's world size:
+     * enemies appear just outside it.
+     */
+    public World(TiledMap map, float viewWidth, float viewHeight, int enemyCapacity) {
+        this.viewWidth = viewWidth;
+        this.viewHeight = viewHeight;
+
+        int tileWidth = map.getProperties().get("tilewidth", Integer.class);
+        int tileHeight = map.getProperties().get("tileheight", Integer.class);
+
+        MapLayer collisionLayer = map.getLayers().get("Collision_1");
+        MapObjects collisionObjects;
+        if (collisionLayer != null) {
+            collisionObjects = collisionLayer.getObjects();
+        } else {
+            Gdx.app.error("World", "Collision layer not found");
+            collisionObjects = new MapObjects();
+        }
+        collisionGrid = new CollisionGrid(collisionObjects, tileWidth);
+        occupancyGrid = new OccupancyGrid(collisionGrid, tileWidth / 4f, Enemy.PATH_PROBE_SIZE);
+
+        int mapWidth = map.getProperties().get("width", Integer.class);
+        int mapHeight = map.getProperties().get("height", Integer.class);
+        if (FLOW_FIELD_PATHFINDING) {
+            flowField = new FlowField(collisionGrid, mapWidth, mapHeight, tileWidth, tileHeight);
+        }
+        spawnSampler = new SpawnSampler(collisionGrid, mapWidth * tileWidth, mapHeight * tileHeight);
+
+        player = new Player(1400, 1400, 200f, 32);
+        enemies = new EnemyStore(enemyCapacity);
+        enemyGrid = new EnemyGrid(tileWidth, enemyCapacity);
+        snapCamera();
+    }
+
+    /** Fixed tick rate the caller steps the world at; {@link #getTickDuration} is the matching delta. */
+    public void setTickRate(float tickRate) {
+        if (tickRate <= 0) {
+            throw new IllegalArgumentException("tick rate must be positive: " + tickRate);
+        }
+        this.tickRate = tickRate;
+    }
+
+    public float getTickRate() {
+        return tickRate;
+    }
+
+    public float getTickDuration() {
+        return 1f / tickRate;
+    }
+
+    /** One simulation tick of {@code delta} seconds, normally {@link #getTickDuration}. */
+    public void tick(float delta) {
+        if (isGameOver) {
+            return;
+        }
+        profiler.begin(FrameProfiler.PLAYER);
+        if (player.isAttackRequested()) {
+            player.attack(enemies, enemyGrid);
+        }
+        player.update(delta, collisionGrid);
+        profiler.end(FrameProfiler.PLAYER);
+
+        if (player.isDead() && player.isDeathAnimationFinished()) {
+            isGameOver = true;
+            return;
+        }
+
+        profiler.begin(FrameProfiler.ENEMY_AI);
+        enemyGrid.rebuild(enemies);
+        if (flowField != null) {
+            Rectangle playerRect = player.getCollisionRect();
+            flowField.update(playerRect.x + playerRect.width / 2, playerRect.y + playerRect.height / 2);
+        }
+
+        aiLod.assign(enemies, player.getPosition(), cameraCurrent.x, cameraCurrent.y, viewWidth, viewHeight);
+        Enemy.advanceTimers(enemies, delta);
+        aiScheduler.schedule(enemies, player.getPosition(), flowField);
+        decisionPhase.run(enemies, delta, player, occupancyGrid, enemyGrid, flowField, aiLod, aiScheduler);
+        aiScheduler.endTick();
+        int finished = 0;
+        for (int i = 0; i < enemies.size(); i++) {
+            Enemy.commit(enemies, i, delta, player, collisionGrid, enemyGrid);
+            if (enemies.isDead(i) && Enemy.isDeathAnimationComplete(enemies, i)) {
+                finished++;
+            }
+        }
+        profiler.end(FrameProfiler.ENEMY_AI);
+
+        profiler.begin(FrameProfiler.SPAWN);
+        GameEvents.WaveSpawn wave = null;
+        if ((finished > 0 || spawnQueue.getPending() > 0) && GameEvents.enabled(GameEvents.WAVE_SPAWN)) {
+            wave = new GameEvents.WaveSpawn();
+            wave.begin();
+        }
+
+        // Слоты удаляются только после прохода: коммит идёт по индексам
+        if (finished > 0) {
+            for (int i = enemies.size() - 1; i >= 0; i--) {
+                if (enemies.isDead(i) && Enemy.isDeathAnimationComplete(enemies, i)) {
+                    enemies.remove(i);
+                }
+            }
+            enemyGrid.rebuild(enemies);
+        }
+
+        long requested = 0;
+        for (int k = 0; k < finished; k++) {
+            score += 100;
+            requested += calculateNewEnemyCount();
+            enemyGenerationCount++;
+        }
+        spawnQueue.request(requested);
+        if (spawnQueue.getPending() > 0) {
+            collectSpawnRing();
+        }
+        int spawned = spawnQueue.drain(enemies.size(), queuedSpawn);
+        // Сетка должна знать и новых врагов: удар игрока в начале следующего тика ищет цели через неё
+        if (spawned > 0) {
+            enemyGrid.rebuild(enemies);
+        }
+
+        if (wave != null) {
+            wave.killed = finished;
+            wave.requested = (int) Math.min(Integer.MAX_VALUE, requested);
+            wave.spawned = spawned;
+            wave.pending = spawnQueue.getPending();
+            wave.liveEnemies = enemies.size();
+            wave.commit();
+        }
+        profiler.end(FrameProfiler.SPAWN);
+        updateCamera(delta);
+    }
+
+    // Рост волн геометрический, поэтому размер ограничен очередью появления
+    private int calculateNewEnemyCount() {
+        double count = baseEnemySpawnCount * Math.pow(enemySpawnMultiplier, enemyGenerationCount);
+        return (int) Math.round(Math.min(count, SpawnQueue.MAX_PENDING));
+    }
+
+    /** Spawns an enemy just outside the camera view; returns false if no free spot was found. */
+    public boolean spawnEnemy() {
+        collectSpawnRing();
+        if (findSpawnPosition(spawnPosition)) {
+            Enemy.spawn(enemies, spawnPosition.x, spawnPosition.y);
+            enemyGrid.rebuild(enemies);
+            return true;
+        }
+        return false;
+    }
+
+    // Сетку перестраивает tick, один раз после всей очереди появления
+    private boolean spawnQueued() {
+        if (!findSpawnPosition(spawnPosition)) {
+            return false;
+        }
+        Enemy.spawn(enemies, spawnPosition.x, spawnPosition.y);
+        return true;
+    }
+
+    /** Spawns an enemy at the given point unless it would stand in a wall. */
+    public boolean spawnEnemyAt(float x, float y) {
+        if (collisionGrid.overlaps(x + EnemyStore.COLLISION_OFFSET_X, y,
+            EnemyStore.COLLISION_WIDTH, EnemyStore.COLLISION_HEIGHT)) {
+            return false;
+        }
+        Enemy.spawn(enemies, x, y);
+        return true;
+    }
+
+    private boolean findSpawnPosition(Vector2 out) {
+        GameEvents.SpawnEnemy event = null;
+        if (GameEvents.enabled(GameEvents.SPAWN_ENEMY)) {
+            event = new GameEvents.SpawnEnemy();
+            event.begin();
+        }
+
+        boolean found = spawnSampler.sample(enemyGrid, player.getPosition(), out);
+
+        if (event != null) {
+            event.attempts = spawnSampler.getLastTries();
+            event.success = found;
+            event.commit();
+        }
+        return found;
+    }
+
+    private void collectSpawnRing() {
+        spawnSampler.collectRing(cameraCurrent.x, cameraCurrent.y, viewWidth, viewHeight, SPAWN_MARGIN);
+    }
+
+    private void updateCamera(float delta) {
+        cameraPrevious.set(cameraCurrent);
+        Vector2 target = player.getPosition();
+        float lerp = 1f - (float) Math.pow(CAMERA_RETAIN, delta * 60);
+        cameraCurrent.x = cameraCurrent.x + (target.x - cameraCurrent.x) * lerp;
+        cameraCurrent.y = cameraCurrent.y + (target.y - cameraCurrent.y + 25) * lerp;
+    }
+
+    /** Moves the camera straight onto the player, without easing. */
+    public void snapCamera() {
+        Vector2 target = player.getPosition();
+        cameraCurrent.set(target.x, target.y + 25);
+        cameraPrevious.set(cameraCurrent);
+    }
+
+    /** Camera centre between the previous and the current tick; {@code alpha} is in [0, 1]. */
+    public float getCameraX(float alpha) {
+        return MathUtils.lerp(cameraPrevious.x, cameraCurrent.x, alpha);
+    }
+
+    public float getCameraY(float alpha) {
+        return MathUtils.lerp(cameraPrevious.y, cameraCurrent.y, alpha);
+    }
+
+    /** Profiler that receives the player, enemy AI and spawn phase timings of every tick. */
+    public void setProfiler(FrameProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /** Replacement enemies waiting to appear; set its cap and budget here. */
+    public SpawnQueue getSpawnQueue() {
+        return spawnQueue;
+    }
+
+    /** Enemy AI tiers of the last tick; per-tier timing is switched on here. */
+    public AiLod getAiLod() {
+        return aiLod;
+    }
+
+    /** Ray-search slots handed out per tick. */
+    public AiScheduler getAiScheduler() {
+        return aiScheduler;
+    }
+
+    public boolean isGameOver() {
+        return isGameOver;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public EnemyStore getEnemies() {
+        return enemies;
+    }
+
+    public CollisionGrid getCollisionGrid() {
+        return collisionGrid;
+    }
+
+    public void dispose() {
+        decisionPhase.dispose();
+    }
+}
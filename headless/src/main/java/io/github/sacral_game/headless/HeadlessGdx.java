@@ -0,0 +1,60 @@
+package io.github.sacral_game.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.GL20;
+
+import java.lang.reflect.Proxy;
+import java.nio.IntBuffer;
+
+/** Sets up libGDX without a display for code that loads the map outside a normal application, such as benchmarks. */
+public final class HeadlessGdx {
+    private HeadlessGdx() {
+    }
+
+    /** Starts an idle headless application once, for {@code Gdx.app} and {@code Gdx.files}, and installs a no-op GL. */
+    public static synchronized void boot() {
+        if (Gdx.app == null) {
+            HeadlessApplicationConfiguration configuration = new HeadlessApplicationConfiguration();
+            // Пустое приложение просыпается раз в секунду и не мешает замерам
+            configuration.updatesPerSecond = 1;
+            new HeadlessApplication(new ApplicationAdapter() {}, configuration);
+        }
+        installNoOpGl();
+    }
+
+    /**
+     * TmxMapLoader still creates tileset textures, and the headless backend leaves {@code Gdx.gl} unset: every GL call
+     * becomes a no-op, and calls with a primitive result return zero. Shaders and programs get a non-zero handle and
+     * report successful compilation and linking, so a {@code SpriteBatch} or {@code SpriteCache} can be built and
+     * driven without drawing anything.
+     */
+    public static void installNoOpGl() {
+        if (Gdx.gl != null) {
+            return;
+        }
+        GL20 gl = (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[]{GL20.class},
+            (proxy, method, args) -> {
+                String name = method.getName();
+                if (name.equals("glCreateShader") || name.equals("glCreateProgram")) return 1;
+                if ((name.equals("glGetShaderiv") || name.equals("glGetProgramiv")) && args[2] instanceof IntBuffer) {
+                    // Остальные параметры, например число атрибутов, нулевые: шейдер без атрибутов и uniform
+                    int parameter = (Integer) args[1];
+                    boolean status = parameter == GL20.GL_COMPILE_STATUS || parameter == GL20.GL_LINK_STATUS;
+                    IntBuffer out = (IntBuffer) args[2];
+                    out.put(out.position(), status ? 1 : 0);
+                    return null;
+                }
+                Class<?> type = method.getReturnType();
+                if (type == boolean.class) return false;
+                if (type == int.class) return 0;
+                if (type == long.class) return 0L;
+                if (type == float.class) return 0f;
+                return null;
+            });
+        Gdx.gl = gl;
+        Gdx.gl20 = gl;
+    }
+}
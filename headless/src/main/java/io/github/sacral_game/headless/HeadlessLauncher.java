@@ -0,0 +1,20 @@
+package io.github.sacral_game.headless;
+
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+
+/**
+ * Launches the {@link StressTest} on the headless backend. Arguments: enemy count (default 1000) and measured ticks
+ * (default 3600, one minute of game time).
+ */
+public class HeadlessLauncher {
+    public static void main(String[] args) {
+        int enemies = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 3600;
+
+        HeadlessApplicationConfiguration configuration = new HeadlessApplicationConfiguration();
+        // Отрицательный интервал: render не вызывается, вся работа идёт в create
+        configuration.updatesPerSecond = -1;
+        new HeadlessApplication(new StressTest(enemies, ticks), configuration);
+    }
+}
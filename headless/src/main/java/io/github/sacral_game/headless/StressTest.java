@@ -0,0 +1,68 @@
+package io.github.sacral_game.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import com.badlogic.gdx.math.MathUtils;
+import io.github.sacral_game.World;
+
+/**
+ * Spawns a horde into a {@link World} with an immortal player, runs it as fast as possible and reports the simulated
+ * ticks per second. A fixed seed keeps the spawn layout the same between runs.
+ */
+public class StressTest extends ApplicationAdapter {
+    private static final long SEED = 42L;
+    private static final int WARMUP_TICKS = 300;
+    private static final float VIEW_WIDTH = 640;
+    private static final float VIEW_HEIGHT = 360;
+
+    private final int enemyCount;
+    private final int tickCount;
+
+    public StressTest(int enemyCount, int tickCount) {
+        this.enemyCount = enemyCount;
+        this.tickCount = tickCount;
+    }
+
+    @Override
+    public void create() {
+        HeadlessGdx.installNoOpGl();
+
+        TiledMap map = new TmxMapLoader().load("../assets/Test_Map.tmx");
+        World world = new World(map, VIEW_WIDTH, VIEW_HEIGHT, enemyCount);
+        world.getPlayer().setImmortal(true);
+        // Без бюджета поисков нагрузка на ИИ одинакова от прогона к прогону
+        world.getAiScheduler().setBudgetNanos(0);
+
+        MathUtils.random.setSeed(SEED);
+        float mapWidth = map.getProperties().get("width", Integer.class)
+            * map.getProperties().get("tilewidth", Integer.class);
+        float mapHeight = map.getProperties().get("height", Integer.class)
+            * map.getProperties().get("tileheight", Integer.class);
+        int spawned = 0;
+        for (int attempt = 0; spawned < enemyCount && attempt < enemyCount * 20; attempt++) {
+            if (world.spawnEnemyAt(MathUtils.random(mapWidth), MathUtils.random(mapHeight))) {
+                spawned++;
+            }
+        }
+
+        for (int i = 0; i < WARMUP_TICKS; i++) {
+            world.tick(world.getTickDuration());
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < tickCount; i++) {
+            world.tick(world.getTickDuration());
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Gdx.app.log("StressTest", "enemies: " + spawned + " spawned, " + world.getEnemies().size() + " alive");
+        Gdx.app.log("StressTest", String.format("%d ticks in %.2f s: %.1f ticks/s, %.3f ms/tick (budget %.3f ms)",
+            tickCount, seconds, tickCount / seconds, seconds * 1000 / tickCount, world.getTickDuration() * 1000));
+
+        world.dispose();
+        map.dispose();
+        Gdx.app.exit();
+    }
+}